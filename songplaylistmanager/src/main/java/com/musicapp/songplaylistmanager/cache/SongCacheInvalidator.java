@@ -0,0 +1,31 @@
+package com.musicapp.songplaylistmanager.cache;
+
+import com.musicapp.songplaylistmanager.config.CacheConfig;
+import com.musicapp.songplaylistmanager.event.SongChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Evicts cached songs written outside SongService (DataLoader, bulk jobs, repository calls).
+// SongService keeps the cache current for its own write paths through cache annotations.
+@Component
+public class SongCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @EventListener
+    public void onSongChanged(SongChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.SONGS_CACHE);
+        if (cache == null) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case SAVED, DELETED -> cache.evict(event.getSongId());
+            case CLEARED -> cache.clear();
+        }
+    }
+}
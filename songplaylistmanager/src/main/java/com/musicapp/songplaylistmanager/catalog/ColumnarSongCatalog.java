@@ -0,0 +1,448 @@
+package com.musicapp.songplaylistmanager.catalog;
+
+import com.mongodb.client.model.Projections;
+import com.musicapp.songplaylistmanager.event.SongChangedEvent;
+import com.musicapp.songplaylistmanager.event.SongLikeChangedEvent;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Optional read-only copy of the whole songs collection in columnar form
+// (app.catalog.columnar.enabled=true). Each field is a primitive array indexed by row:
+// artist/album/genre are dictionary-encoded int codes, duration/likeCount are int[] and
+// createdDate is long[] epoch millis; only titles stay as String references. Filters are
+// sequential scans over one int[] column. Loaded on startup and kept current by song
+// change and like events, like SongSearchIndex and SongLeaderboard.
+@Component
+@ConditionalOnProperty(name = "app.catalog.columnar.enabled", havingValue = "true")
+public class ColumnarSongCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarSongCatalog.class);
+
+    private static final int NO_VALUE = Integer.MIN_VALUE;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.catalog.columnar.load-batch-size:5000}")
+    private int loadBatchSize = 5000;
+
+    @Value("${app.catalog.columnar.initial-capacity:1024}")
+    private int initialCapacity = 1024;
+
+    private final StringDictionary artists = new StringDictionary();
+    private final StringDictionary albums = new StringDictionary();
+    private final StringDictionary genres = new StringDictionary();
+
+    // Row columns; rows at or above rowCount, or cleared in live, are free.
+    // A free row holds NULL_CODE/NO_VALUE sentinels so scans can skip it by value alone.
+    private long[] idHighs;
+    private int[] idLows;
+    private String[] titles;
+    private int[] artistCodes;
+    private int[] albumCodes;
+    private int[] genreCodes;
+    private int[] durations;
+    private int[] likeCounts;
+    private long[] likeVersions; // see Song.likeVersion; a late like event never overwrites a newer count
+    private long[] createdMillis;
+
+    private int rowCount;
+    private final BitSet live = new BitSet();
+    private int[] freeRows = new int[16];
+    private int freeCount;
+
+    private ObjectIdRowIndex rowsByObjectId;
+
+    // The index reads keys straight from the ID columns, whichever arrays are current
+    private final ObjectIdRowIndex.RowKeys idColumns = new ObjectIdRowIndex.RowKeys() {
+        @Override
+        public long high(int row) { return idHighs[row]; }
+
+        @Override
+        public int low(int row) { return idLows[row]; }
+    };
+
+    // Rows whose ID is not an ObjectId (rare; only if documents were written with custom IDs)
+    private final Map<String, Integer> rowsByOtherId = new HashMap<>();
+    private final Map<Integer, String> otherIdsByRow = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready = false;
+
+    public ColumnarSongCatalog() {
+        allocate(16);
+    }
+
+    // Load every song once the context is up
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuild() {
+        logger.info("🗃️ Loading columnar song catalog...");
+        long start = System.nanoTime();
+        String collectionName = mongoTemplate.getCollectionName(Song.class);
+
+        lock.writeLock().lock();
+        try {
+            clearUnlocked(Math.max(initialCapacity, (int) Math.min(Integer.MAX_VALUE - 8,
+                    mongoTemplate.getCollection(collectionName).estimatedDocumentCount())));
+            // Raw documents with only the catalog fields, so no Song objects are built during the load
+            for (Document document : mongoTemplate.getCollection(collectionName).find()
+                    .projection(Projections.include("title", "artist", "album", "genre", "duration", "likeCount", "likeVersion",
+                            "createdDate"))
+                    .batchSize(loadBatchSize)) {
+                upsertUnlocked(document.get("_id").toString(), document.getString("title"),
+                        document.getString("artist"), document.getString("album"), document.getString("genre"),
+                        intOrNone(document.get("duration")), Math.max(0, intOrNone(document.get("likeCount"))),
+                        document.get("likeVersion") instanceof Number version ? version.longValue() : 0,
+                        millisOf(document.getDate("createdDate")));
+            }
+            ready = true;
+            logger.info("✅ Columnar catalog ready: {} songs, {} artists, {} albums, {} genres in {} ms",
+                    live.cardinality(), artists.size(), albums.size(), genres.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            ready = false;
+            logger.error("❌ Failed to load columnar catalog: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onSongChanged(SongChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> upsert(event.getSong());
+            case DELETED -> remove(event.getSongId());
+            case CLEARED -> rebuild();
+        }
+    }
+
+    @EventListener
+    public void onSongLikeChanged(SongLikeChangedEvent event) {
+        Song song = event.getSong();
+        lock.writeLock().lock();
+        try {
+            int row = rowOf(song.getId());
+            if (row == ObjectIdRowIndex.MISSING) {
+                upsertUnlocked(song);
+            } else if (song.getLikeVersion() >= likeVersions[row]) {
+                likeCounts[row] = song.getLikeCount() != null ? song.getLikeCount() : 0;
+                likeVersions[row] = song.getLikeVersion();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void registerMetrics() {
+        if (meterRegistry != null) {
+            Gauge.builder("app.catalog.songs", this, ColumnarSongCatalog::size)
+                    .description("Songs held in the columnar in-memory catalog")
+                    .register(meterRegistry);
+        }
+    }
+
+    public void upsert(Song song) {
+        lock.writeLock().lock();
+        try {
+            upsertUnlocked(song);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String songId) {
+        lock.writeLock().lock();
+        try {
+            int row = removeRowOf(songId);
+            if (row != ObjectIdRowIndex.MISSING) {
+                live.clear(row);
+                // Sentinels make every scan skip the row without consulting the live bitset
+                titles[row] = null;
+                genreCodes[row] = StringDictionary.NULL_CODE;
+                durations[row] = NO_VALUE;
+                likeCounts[row] = NO_VALUE;
+                likeVersions[row] = 0;
+                if (freeCount == freeRows.length) {
+                    freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+                }
+                freeRows[freeCount++] = row;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Songs in a genre (case and accents ignored), in catalog order
+    public List<Song> findByGenre(String genre) {
+        lock.readLock().lock();
+        try {
+            boolean[] matchingCodes = genres.codesWithKey(TextNormalizer.normalize(genre));
+            List<Song> songs = new ArrayList<>();
+            int[] codes = genreCodes;
+            for (int row = 0; row < rowCount; row++) {
+                int code = codes[row];
+                if (code != StringDictionary.NULL_CODE && matchingCodes[code]) {
+                    songs.add(toSong(row));
+                }
+            }
+            return songs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Songs whose duration (seconds) lies in [minSeconds, maxSeconds], in catalog order
+    public List<Song> findByDurationRange(int minSeconds, int maxSeconds) {
+        lock.readLock().lock();
+        try {
+            List<Song> songs = new ArrayList<>();
+            int[] column = durations;
+            for (int row = 0; row < rowCount; row++) {
+                int duration = column[row];
+                if (duration >= minSeconds && duration <= maxSeconds && duration != NO_VALUE) {
+                    songs.add(toSong(row));
+                }
+            }
+            return songs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Most liked songs, optionally within one genre; one pass over likeCounts keeping the best rows
+    public List<Song> findMostLiked(String genre, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            boolean[] matchingCodes = genre == null ? null : genres.codesWithKey(TextNormalizer.normalize(genre));
+
+            // Best rows so far, most likes first; ties keep catalog order
+            int[] bestRows = new int[limit];
+            int[] bestLikes = new int[limit];
+            int found = 0;
+            int[] column = likeCounts;
+            for (int row = 0; row < rowCount; row++) {
+                int likes = column[row];
+                if (likes == NO_VALUE || (found == limit && likes <= bestLikes[limit - 1])) {
+                    continue;
+                }
+                if (matchingCodes != null) {
+                    int code = genreCodes[row];
+                    if (code == StringDictionary.NULL_CODE || !matchingCodes[code]) {
+                        continue;
+                    }
+                }
+                int position = found < limit ? found++ : limit - 1;
+                while (position > 0 && bestLikes[position - 1] < likes) {
+                    bestRows[position] = bestRows[position - 1];
+                    bestLikes[position] = bestLikes[position - 1];
+                    position--;
+                }
+                bestRows[position] = row;
+                bestLikes[position] = likes;
+            }
+
+            List<Song> songs = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                songs.add(toSong(bestRows[i]));
+            }
+            return songs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void upsertUnlocked(Song song) {
+        if (song == null || song.getId() == null) {
+            return;
+        }
+        upsertUnlocked(song.getId(), song.getTitle(), song.getArtist(), song.getAlbum(), song.getGenre(),
+                song.getDuration() != null ? song.getDuration() : NO_VALUE,
+                song.getLikeCount() != null ? song.getLikeCount() : 0, song.getLikeVersion(),
+                song.getCreatedDate() != null ? localMillis(song.getCreatedDate()) : Long.MIN_VALUE);
+    }
+
+    private void upsertUnlocked(String id, String title, String artist, String album, String genre,
+                                int duration, int likeCount, long likeVersion, long created) {
+        int row = rowOf(id);
+        if (row == ObjectIdRowIndex.MISSING) {
+            row = claimRow();
+            assignId(row, id);
+            live.set(row);
+        } else if (likeVersion < likeVersions[row]) {
+            // Older like state than the one already applied: keep the newer count
+            likeCount = likeCounts[row];
+            likeVersion = likeVersions[row];
+        }
+        titles[row] = title;
+        artistCodes[row] = artists.encode(artist);
+        albumCodes[row] = albums.encode(album);
+        genreCodes[row] = genres.encode(genre);
+        durations[row] = duration;
+        likeCounts[row] = likeCount;
+        likeVersions[row] = likeVersion;
+        createdMillis[row] = created;
+    }
+
+    private int claimRow() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+        if (rowCount == titles.length) {
+            grow(titles.length * 2);
+        }
+        return rowCount++;
+    }
+
+    private void assignId(int row, String id) {
+        if (ObjectId.isValid(id)) {
+            ByteBuffer bytes = ByteBuffer.wrap(new ObjectId(id).toByteArray());
+            idHighs[row] = bytes.getLong();
+            idLows[row] = bytes.getInt();
+            rowsByObjectId.put(row);
+        } else {
+            rowsByOtherId.put(id, row);
+            otherIdsByRow.put(row, id);
+        }
+    }
+
+    private int rowOf(String id) {
+        if (ObjectId.isValid(id)) {
+            ByteBuffer bytes = ByteBuffer.wrap(new ObjectId(id).toByteArray());
+            return rowsByObjectId.get(bytes.getLong(), bytes.getInt());
+        }
+        return rowsByOtherId.getOrDefault(id, ObjectIdRowIndex.MISSING);
+    }
+
+    private int removeRowOf(String id) {
+        if (ObjectId.isValid(id)) {
+            ByteBuffer bytes = ByteBuffer.wrap(new ObjectId(id).toByteArray());
+            return rowsByObjectId.remove(bytes.getLong(), bytes.getInt());
+        }
+        Integer row = rowsByOtherId.remove(id);
+        if (row == null) {
+            return ObjectIdRowIndex.MISSING;
+        }
+        otherIdsByRow.remove(row);
+        return row;
+    }
+
+    private String idOf(int row) {
+        String otherId = otherIdsByRow.get(row);
+        if (otherId != null) {
+            return otherId;
+        }
+        return new ObjectId(ByteBuffer.allocate(12).putLong(idHighs[row]).putInt(idLows[row]).array()).toHexString();
+    }
+
+    private Song toSong(int row) {
+        Song song = new Song(titles[row], artists.decode(artistCodes[row]), albums.decode(albumCodes[row]),
+                genres.decode(genreCodes[row]), durations[row] == NO_VALUE ? null : durations[row]);
+        song.setId(idOf(row));
+        song.setLikeCount(likeCounts[row]);
+        long created = createdMillis[row];
+        song.setCreatedDate(created == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(
+                Math.floorDiv(created, 1000), (int) Math.floorMod(created, 1000) * 1_000_000, ZoneOffset.UTC));
+        return song;
+    }
+
+    private void clearUnlocked(int capacity) {
+        allocate(capacity);
+        artists.clear();
+        albums.clear();
+        genres.clear();
+        live.clear();
+        rowCount = 0;
+        freeCount = 0;
+        rowsByOtherId.clear();
+        otherIdsByRow.clear();
+    }
+
+    private void allocate(int capacity) {
+        idHighs = new long[capacity];
+        idLows = new int[capacity];
+        titles = new String[capacity];
+        artistCodes = new int[capacity];
+        albumCodes = new int[capacity];
+        genreCodes = new int[capacity];
+        durations = new int[capacity];
+        likeCounts = new int[capacity];
+        likeVersions = new long[capacity];
+        createdMillis = new long[capacity];
+        rowsByObjectId = new ObjectIdRowIndex(idColumns, capacity);
+    }
+
+    private void grow(int capacity) {
+        idHighs = Arrays.copyOf(idHighs, capacity);
+        idLows = Arrays.copyOf(idLows, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        artistCodes = Arrays.copyOf(artistCodes, capacity);
+        albumCodes = Arrays.copyOf(albumCodes, capacity);
+        genreCodes = Arrays.copyOf(genreCodes, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        likeCounts = Arrays.copyOf(likeCounts, capacity);
+        likeVersions = Arrays.copyOf(likeVersions, capacity);
+        createdMillis = Arrays.copyOf(createdMillis, capacity);
+    }
+
+    private static int intOrNone(Object value) {
+        return value instanceof Number number ? number.intValue() : NO_VALUE;
+    }
+
+    // Dates are kept as the local date-time's millis (read as if UTC), so turning a row back into a
+    // LocalDateTime needs no time-zone rules; the zone is applied once, when the BSON date is loaded
+    private static long millisOf(Date date) {
+        return date != null ? localMillis(LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault())) : Long.MIN_VALUE;
+    }
+
+    private static long localMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,126 @@
+package com.musicapp.songplaylistmanager.catalog;
+
+import java.util.Arrays;
+
+// Open-addressing hash index from a 12-byte ObjectId (split into a long and an int) to a row
+// number. Slots only hold row numbers; keys are read back from the catalog's ID columns, so
+// the index costs about 5 bytes per song instead of a HashMap node, a boxed Integer and a
+// 24-character String. Linear probing with backward-shift deletion (no tombstones).
+// Not thread-safe.
+final class ObjectIdRowIndex {
+
+    static final int MISSING = -1;
+
+    // Where the index reads a row's key from
+    interface RowKeys {
+        long high(int row);
+
+        int low(int row);
+    }
+
+    private final RowKeys keys;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    ObjectIdRowIndex(RowKeys keys, int expectedEntries) {
+        this.keys = keys;
+        allocate(capacityFor(expectedEntries));
+    }
+
+    int get(long high, int low) {
+        for (int slot = home(high, low); slots[slot] != MISSING; slot = (slot + 1) & mask) {
+            int row = slots[slot];
+            if (keys.high(row) == high && keys.low(row) == low) {
+                return row;
+            }
+        }
+        return MISSING;
+    }
+
+    // Adds a row whose key is already written to the ID columns
+    void put(int row) {
+        if (size + 1 > slots.length - (slots.length >>> 2)) {
+            resize(slots.length * 2);
+        }
+        long high = keys.high(row);
+        int low = keys.low(row);
+        int slot = home(high, low);
+        while (slots[slot] != MISSING) {
+            int existing = slots[slot];
+            if (keys.high(existing) == high && keys.low(existing) == low) {
+                slots[slot] = row;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = row;
+        size++;
+    }
+
+    // Removes the key and returns its row, or MISSING
+    int remove(long high, int low) {
+        for (int slot = home(high, low); slots[slot] != MISSING; slot = (slot + 1) & mask) {
+            int row = slots[slot];
+            if (keys.high(row) == high && keys.low(row) == low) {
+                shiftBack(slot);
+                size--;
+                return row;
+            }
+        }
+        return MISSING;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Moves later entries of the probe run into the freed slot so lookups never stop early
+    private void shiftBack(int freed) {
+        int slot = freed;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int row = slots[slot];
+            if (row == MISSING) {
+                break;
+            }
+            int home = home(keys.high(row), keys.low(row));
+            boolean movable = freed <= slot
+                    ? home <= freed || home > slot
+                    : home <= freed && home > slot;
+            if (movable) {
+                slots[freed] = row;
+                freed = slot;
+            }
+        }
+        slots[freed] = MISSING;
+    }
+
+    private int home(long high, int low) {
+        long hash = high * 0x9E3779B97F4A7C15L ^ low * 0xC2B2AE3D27D4EB4FL;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+        int[] oldSlots = slots;
+        allocate(capacity);
+        size = 0;
+        for (int row : oldSlots) {
+            if (row != MISSING) {
+                put(row);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        Arrays.fill(slots, MISSING);
+        mask = capacity - 1;
+    }
+
+    // Smallest power of two that keeps the table at most 3/4 full
+    private static int capacityFor(int expectedEntries) {
+        long needed = Math.max(16L, (long) Math.max(1, expectedEntries) * 4 / 3 + 1);
+        return (int) Math.min(1 << 30, Long.highestOneBit(needed - 1) << 1);
+    }
+}
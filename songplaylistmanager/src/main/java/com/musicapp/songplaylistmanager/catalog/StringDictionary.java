@@ -0,0 +1,61 @@
+package com.musicapp.songplaylistmanager.catalog;
+
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Dictionary encoding for a low-cardinality string column: each distinct value is stored
+// once and rows hold its int code. Codes are never reused, so a code stays valid for the
+// lifetime of the dictionary. Not thread-safe; ColumnarSongCatalog guards access.
+final class StringDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final List<String> values = new ArrayList<>();
+    private final List<String> keys = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    // Code for the value, adding it if it is new
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            values.add(value);
+            keys.add(TextNormalizer.normalize(value));
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    // Marks every code whose normalized value equals the key, e.g. "Pop" and "pop" for "pop"
+    boolean[] codesWithKey(String key) {
+        boolean[] matches = new boolean[values.size()];
+        if (key == null) {
+            return matches;
+        }
+        for (int code = 0; code < keys.size(); code++) {
+            matches[code] = key.equals(keys.get(code));
+        }
+        return matches;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    void clear() {
+        values.clear();
+        keys.clear();
+        codes.clear();
+    }
+}
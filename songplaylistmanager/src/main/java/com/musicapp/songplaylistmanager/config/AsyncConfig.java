@@ -0,0 +1,11 @@
+package com.musicapp.songplaylistmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// Enables @Async background work such as cleaning up references to a deleted song.
+// Runs on Spring Boot's application task executor (virtual threads, see spring.threads.virtual.enabled)
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
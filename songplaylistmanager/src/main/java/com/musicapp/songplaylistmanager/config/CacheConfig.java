@@ -0,0 +1,44 @@
+package com.musicapp.songplaylistmanager.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// In-process caches. Each cache gets its own size/TTL bounds from application.properties
+// and records hit/miss/eviction statistics.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SONGS_CACHE = "songs";
+    public static final String USER_ROLES_CACHE = "userRoles";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.songs.maximum-size:10000}") long songsMaximumSize,
+            @Value("${app.cache.songs.expire-after-write:10m}") Duration songsExpireAfterWrite,
+            @Value("${app.cache.user-roles.maximum-size:10000}") long userRolesMaximumSize,
+            @Value("${app.cache.user-roles.expire-after-write:5m}") Duration userRolesExpireAfterWrite) {
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(SONGS_CACHE, Caffeine.newBuilder()
+                .maximumSize(songsMaximumSize)
+                .expireAfterWrite(songsExpireAfterWrite)
+                .recordStats()
+                .build());
+        // Bounded TTL so a role changed by another instance is picked up here too,
+        // even without change streams (which evict it right away)
+        cacheManager.registerCustomCache(USER_ROLES_CACHE, Caffeine.newBuilder()
+                .maximumSize(userRolesMaximumSize)
+                .expireAfterWrite(userRolesExpireAfterWrite)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,69 @@
+package com.musicapp.songplaylistmanager.config;
+
+import com.musicapp.songplaylistmanager.leaderboard.SongLeaderboard;
+import com.musicapp.songplaylistmanager.search.SongSearchIndex;
+import com.musicapp.songplaylistmanager.service.StatisticsService;
+import io.micrometer.core.aop.CountedAspect;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Micrometer wiring. Service classes are timed with @Timed (see SERVICE_TIMER),
+// repository calls are timed by Spring Boot as spring.data.repository.invocations,
+// raw Mongo commands as mongodb.driver.commands and caches as cache.*.
+// Percentiles per timer are configured in application.properties.
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "app.service";
+    public static final String REPOSITORY_TIMER = "spring.data.repository.invocations";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public CountedAspect countedAspect(MeterRegistry registry) {
+        return new CountedAspect(registry);
+    }
+
+    // Collection counts come from the statistics snapshot so a scrape never queries MongoDB;
+    // they read NaN until the first refresh has produced one
+    @Bean
+    public MeterBinder catalogMetrics(StatisticsService statisticsService, SongSearchIndex songSearchIndex,
+                                     SongLeaderboard songLeaderboard) {
+        return registry -> {
+            Gauge.builder("app.collection.documents", statisticsService,
+                            service -> service.getCurrentStatistics()
+                                    .map(statistics -> (double) statistics.getTotalSongs())
+                                    .orElse(Double.NaN))
+                    .tag("collection", "songs")
+                    .description("Documents in the collection as of the last statistics refresh")
+                    .register(registry);
+            Gauge.builder("app.collection.documents", statisticsService,
+                            service -> service.getCurrentStatistics()
+                                    .map(statistics -> (double) statistics.getTotalUsers())
+                                    .orElse(Double.NaN))
+                    .tag("collection", "users")
+                    .description("Documents in the collection as of the last statistics refresh")
+                    .register(registry);
+            Gauge.builder("app.collection.documents", statisticsService,
+                            service -> service.getCurrentStatistics()
+                                    .map(statistics -> (double) statistics.getTotalPlaylists())
+                                    .orElse(Double.NaN))
+                    .tag("collection", "playlists")
+                    .description("Documents in the collection as of the last statistics refresh")
+                    .register(registry);
+            Gauge.builder("app.search.index.songs", songSearchIndex, SongSearchIndex::size)
+                    .description("Songs held in the in-memory search index")
+                    .register(registry);
+            Gauge.builder("app.leaderboard.songs", songLeaderboard, SongLeaderboard::size)
+                    .description("Songs held in the in-memory likes leaderboard")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.musicapp.songplaylistmanager.config;
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Creates the indexes declared with @Indexed/@CompoundIndex on the domain model.
+// Spring Boot leaves auto-index-creation off, so without this the annotations are ignored
+// and every repository query collection-scans. Runs before the CommandLineRunners
+// (DataLoader, console) so the unique username/email indexes exist before any insert.
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(Song.class, User.class, Playlist.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @EventListener(ContextRefreshedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void createIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            String collection = mongoTemplate.getCollectionName(entity);
+            IndexOperations indexOperations = mongoTemplate.indexOps(entity);
+            for (IndexDefinition index : resolver.resolveIndexFor(entity)) {
+                createIndex(collection, indexOperations, index);
+            }
+            logger.info("🗂️ Indexes ready on {}: {}", collection,
+                    indexOperations.getIndexInfo().stream().map(IndexInfo::getName).toList());
+        }
+    }
+
+    // Each index on its own, so one failure does not skip the rest. A missing secondary index
+    // only costs speed and is logged; a missing unique index means duplicates would be accepted
+    // (signup relies on them), so that stops startup.
+    private void createIndex(String collection, IndexOperations indexOperations, IndexDefinition index) {
+        try {
+            indexOperations.createIndex(index);
+        } catch (RuntimeException e) {
+            Document options = index.getIndexOptions();
+            String name = options.getString("name");
+            if (Boolean.TRUE.equals(options.getBoolean("unique"))) {
+                logger.error("❌ Failed to create unique index {} on {}: {}", name, collection, e.getMessage());
+                throw new RuntimeException("Unique index " + name + " on " + collection + " could not be created: "
+                        + e.getMessage(), e);
+            }
+            logger.error("❌ Failed to create index {} on {}: {}", name, collection, e.getMessage());
+        }
+    }
+}
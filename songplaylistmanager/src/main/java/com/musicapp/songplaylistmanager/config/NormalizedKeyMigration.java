@@ -0,0 +1,119 @@
+package com.musicapp.songplaylistmanager.config;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// One-time backfill of the normalized lookup keys (Song artistKey/albumKey/genreKey,
+// Playlist nameKey) for documents written before the keys existed. New writes keep the
+// keys current through the model setters, so this only runs until its marker is recorded
+// in the migrations collection. Runs right after MongoIndexInitializer.
+@Component
+public class NormalizedKeyMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(NormalizedKeyMigration.class);
+
+    static final String MIGRATIONS_COLLECTION = "migrations";
+    static final String MIGRATION_ID = "normalized-keys-v1";
+
+    // Index replaced by genreKey_likeCount; dropped so it no longer costs every write
+    private static final String LEGACY_GENRE_INDEX = "genre_likeCount";
+
+    private static final Map<String, String> SONG_KEYS = Map.of(
+            "artist", "artistKey",
+            "album", "albumKey",
+            "genre", "genreKey");
+
+    private static final Map<String, String> PLAYLIST_KEYS = Map.of("name", "nameKey");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.migration.batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ContextRefreshedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void migrate() {
+        if (mongoTemplate.getCollection(MIGRATIONS_COLLECTION).find(Filters.eq("_id", MIGRATION_ID)).first() != null) {
+            return;
+        }
+        try {
+            long updated = backfillKeys();
+            dropLegacyGenreIndex();
+            mongoTemplate.getCollection(MIGRATIONS_COLLECTION).insertOne(
+                    new Document("_id", MIGRATION_ID).append("appliedAt", LocalDateTime.now()));
+            logger.info("🔑 Migration {} applied: {} documents backfilled", MIGRATION_ID, updated);
+        } catch (RuntimeException e) {
+            logger.error("❌ Migration {} failed, will retry on next start: {}", MIGRATION_ID, e.getMessage());
+        }
+    }
+
+    // Fill in missing normalized keys on songs and playlists; returns the number of documents updated.
+    // Also used after a restore, since exports taken before the keys existed do not carry them.
+    public long backfillKeys() {
+        return backfill(mongoTemplate.getCollectionName(Song.class), SONG_KEYS)
+                + backfill(mongoTemplate.getCollectionName(Playlist.class), PLAYLIST_KEYS);
+    }
+
+    private long backfill(String collectionName, Map<String, String> keyBySource) {
+        List<Bson> missing = keyBySource.values().stream().map(key -> Filters.exists(key, false)).toList();
+        Bson projection = Projections.include(List.copyOf(keyBySource.keySet()));
+
+        long updated = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        for (Document document : mongoTemplate.getCollection(collectionName)
+                .find(Filters.or(missing)).projection(projection).batchSize(batchSize)) {
+            Update update = new Update();
+            keyBySource.forEach((source, key) -> update.set(key, TextNormalizer.normalize(document.getString(source))));
+
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+            }
+            bulk.updateOne(new Query(Criteria.where("_id").is(document.get("_id"))), update);
+            if (++pending == batchSize) {
+                updated += bulk.execute().getModifiedCount();
+                bulk = null;
+                pending = 0;
+            }
+        }
+        if (bulk != null) {
+            updated += bulk.execute().getModifiedCount();
+        }
+        return updated;
+    }
+
+    private void dropLegacyGenreIndex() {
+        IndexOperations indexOperations = mongoTemplate.indexOps(Song.class);
+        boolean present = indexOperations.getIndexInfo().stream()
+                .anyMatch(index -> LEGACY_GENRE_INDEX.equals(index.getName()));
+        if (present) {
+            indexOperations.dropIndex(LEGACY_GENRE_INDEX);
+            logger.info("🗂️ Dropped legacy index {}", LEGACY_GENRE_INDEX);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.musicapp.songplaylistmanager.config;
+
+import com.mongodb.client.model.Filters;
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.service.PlaylistService;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// One-time backfill of the track summaries (Playlist.tracks/totalDuration) for playlists
+// written before they existed. Adds and removes keep them current afterwards, so this only
+// runs until its marker is recorded in the migrations collection. Runs after NormalizedKeyMigration.
+@Component
+public class PlaylistTrackMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaylistTrackMigration.class);
+
+    static final String MIGRATION_ID = "playlist-tracks-v1";
+
+    // Playlists holding a different number of summaries than songs (none at all included)
+    private static final Query INCOMPLETE = new BasicQuery(new Document("$expr",
+            new Document("$ne", List.of(arraySize("$tracks"), arraySize("$songIds")))));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PlaylistService playlistService;
+
+    @EventListener(ContextRefreshedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    public void migrate() {
+        if (mongoTemplate.getCollection(NormalizedKeyMigration.MIGRATIONS_COLLECTION)
+                .find(Filters.eq("_id", MIGRATION_ID)).first() != null) {
+            return;
+        }
+        try {
+            long updated = backfillTracks();
+            mongoTemplate.getCollection(NormalizedKeyMigration.MIGRATIONS_COLLECTION).insertOne(
+                    new Document("_id", MIGRATION_ID).append("appliedAt", LocalDateTime.now()));
+            logger.info("🔑 Migration {} applied: {} playlists backfilled", MIGRATION_ID, updated);
+        } catch (RuntimeException e) {
+            logger.error("❌ Migration {} failed, will retry on next start: {}", MIGRATION_ID, e.getMessage());
+        }
+    }
+
+    // Build the summaries of every playlist missing some; returns the number of playlists updated.
+    // Also used after a restore, since exports taken before the summaries existed do not carry them.
+    public long backfillTracks() {
+        LongAdder updated = new LongAdder();
+        try (Stream<Playlist> playlists = mongoTemplate.stream(INCOMPLETE, Playlist.class)) {
+            playlists.forEach(playlist -> {
+                playlistService.getPlaylistTracks(playlist);
+                updated.increment();
+            });
+        }
+        return updated.sum();
+    }
+
+    private static Document arraySize(String field) {
+        return new Document("$size", new Document("$ifNull", List.of(field, List.of())));
+    }
+}
@@ -0,0 +1,15 @@
+package com.musicapp.songplaylistmanager.config;
+
+import com.musicapp.songplaylistmanager.repository.reactive.ReactiveSongRepository;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+// Reactive MongoDB stack, switched on with --spring.profiles.active=reactive.
+// The default profile excludes the reactive driver auto-configuration and only
+// creates the blocking repositories (see application.properties).
+@Configuration
+@Profile("reactive")
+@EnableReactiveMongoRepositories(basePackageClasses = ReactiveSongRepository.class)
+public class ReactiveMongoConfig {
+}
@@ -0,0 +1,10 @@
+package com.musicapp.songplaylistmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled background jobs such as the statistics refresh
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
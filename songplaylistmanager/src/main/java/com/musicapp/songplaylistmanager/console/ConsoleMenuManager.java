@@ -1,13 +1,19 @@
 package com.musicapp.songplaylistmanager.console;
 
+import com.musicapp.songplaylistmanager.dto.CacheStatistics;
+import com.musicapp.songplaylistmanager.dto.OperationTiming;
+import com.musicapp.songplaylistmanager.dto.SystemStatistics;
 import com.musicapp.songplaylistmanager.model.Song.Role;
 import com.musicapp.songplaylistmanager.model.Song.User;
 import com.musicapp.songplaylistmanager.service.PlaylistService;
 import com.musicapp.songplaylistmanager.service.SongService;
+import com.musicapp.songplaylistmanager.service.StatisticsService;
 import com.musicapp.songplaylistmanager.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Scanner;
 
 @Component
@@ -22,6 +28,9 @@ public class ConsoleMenuManager {
     @Autowired
     private PlaylistService playlistService;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
     @Autowired
     private UserMenuHandler userMenuHandler;
 
@@ -31,6 +40,12 @@ public class ConsoleMenuManager {
     @Autowired
     private PlaylistMenuHandler playlistMenuHandler;
 
+    @Autowired
+    private DataMenuHandler dataMenuHandler;
+
+    private static final int LIST_PAGE_SIZE = 25;
+    private static final int SLOWEST_OPERATIONS_SHOWN = 10;
+
     private Scanner scanner = new Scanner(System.in);
     private User currentUser = null;
 
@@ -86,8 +101,9 @@ public class ConsoleMenuManager {
         System.out.println("2. Song Management" + (currentUser.isAdmin() ? "" : " (View Only)"));
         System.out.println("3. Playlist Management");
         System.out.println("4. Reports & Statistics");
-        System.out.println("5. Logout");
-        System.out.println("6. Exit");
+        System.out.println("5. Data Export & Restore" + (currentUser.isAdmin() ? "" : " (Admin Only)"));
+        System.out.println("6. Logout");
+        System.out.println("7. Exit");
         System.out.println("=".repeat(60));
         System.out.print("🎯 Choose an option: ");
 
@@ -107,9 +123,12 @@ public class ConsoleMenuManager {
                 showReports();
                 break;
             case 5:
-                logout();
+                dataMenuHandler.handleDataMenu(currentUser);
                 break;
             case 6:
+                logout();
+                break;
+            case 7:
                 System.out.println("👋 Goodbye!");
                 System.exit(0);
                 break;
@@ -169,10 +188,16 @@ public class ConsoleMenuManager {
     private void viewAllUsers() {
         System.out.println("\n👥 ALL USERS");
         try {
-            var users = userService.getAllUsers();
-            if (users.isEmpty()) {
-                System.out.println("No users found.");
-            } else {
+            int page = 0;
+            long shown = 0;
+            Slice<User> users;
+            do {
+                users = userService.getUsers(page++, LIST_PAGE_SIZE);
+                if (shown == 0 && !users.hasContent()) {
+                    System.out.println("No users found.");
+                    return;
+                }
+
                 System.out.println("=".repeat(80));
                 System.out.printf("%-25s %-25s %-15s %-15s%n", "ID", "USERNAME", "EMAIL", "ROLE");
                 System.out.println("=".repeat(80));
@@ -184,7 +209,8 @@ public class ConsoleMenuManager {
                             user.getRole());
                 }
                 System.out.println("=".repeat(80));
-            }
+                shown += users.getNumberOfElements();
+            } while (users.hasNext() && ConsolePaging.askForNextPage(scanner, shown));
         } catch (Exception e) {
             System.out.println("❌ Error fetching users: " + e.getMessage());
         }
@@ -193,26 +219,48 @@ public class ConsoleMenuManager {
     private void showReports() {
         System.out.println("\n📊 REPORTS & STATISTICS");
         try {
-            var songs = songService.getAllSongs();
-            var users = userService.getAllUsers();
-            var playlists = playlistService.getAllPlaylists();
+            SystemStatistics stats = statisticsService.getStatistics();
 
             System.out.println("=".repeat(40));
             System.out.println("📈 SYSTEM STATISTICS");
             System.out.println("=".repeat(40));
-            System.out.println("👥 Total Users: " + users.size());
-            System.out.println("🎵 Total Songs: " + songs.size());
-            System.out.println("📝 Total Playlists: " + playlists.size());
+            System.out.println("👥 Total Users: " + stats.getTotalUsers());
+            System.out.println("🎵 Total Songs: " + stats.getTotalSongs());
+            System.out.println("📝 Total Playlists: " + stats.getTotalPlaylists());
+            System.out.printf("📏 Average Playlist Length: %.1f songs%n", stats.getAveragePlaylistLength());
+
+            if (!stats.getSongsByGenre().isEmpty()) {
+                System.out.println("\n🎼 SONGS BY GENRE:");
+                stats.getSongsByGenre().forEach((genre, count) ->
+                        System.out.println("   " + genre + ": " + count));
+            }
 
-            if (!songs.isEmpty()) {
-                var mostLikedSongs = songService.getMostLikedSongs();
+            if (!stats.getTopLikedSongs().isEmpty()) {
                 System.out.println("\n🏆 TOP LIKED SONGS:");
-                mostLikedSongs.stream().limit(5).forEach(song ->
+                stats.getTopLikedSongs().stream().limit(5).forEach(song ->
                         System.out.println("   ❤️ " + song.getTitle() + " by " + song.getArtist() +
                                 " (" + song.getLikeCount() + " likes)"));
             }
 
+            System.out.println("\n🗄️ CACHES:");
+            for (CacheStatistics cache : statisticsService.getCacheStatistics()) {
+                System.out.printf("   %s: %d entries, %d hits, %d misses, %d evictions (%.0f%% hit rate)%n",
+                        cache.getName(), cache.getSize(), cache.getHits(), cache.getMisses(),
+                        cache.getEvictions(), cache.getHitRate() * 100);
+            }
+
+            List<OperationTiming> timings = statisticsService.getOperationTimings();
+            if (!timings.isEmpty()) {
+                System.out.println("\n⏱️ SLOWEST OPERATIONS (by p99, full data at /actuator/prometheus):");
+                System.out.printf("   %-55s %8s %10s %10s%n", "OPERATION", "CALLS", "P50 (ms)", "P99 (ms)");
+                timings.stream().limit(SLOWEST_OPERATIONS_SHOWN).forEach(timing ->
+                        System.out.printf("   %-55s %8d %10.2f %10.2f%n",
+                                truncate(timing.getOperation(), 55), timing.getCount(),
+                                timing.getP50Millis(), timing.getP99Millis()));
+            }
+
             System.out.println("=".repeat(40));
+            System.out.println("🕒 As of: " + stats.getComputedAt().withNano(0));
 
         } catch (Exception e) {
             System.out.println("❌ Error generating reports: " + e.getMessage());
@@ -227,6 +275,11 @@ public class ConsoleMenuManager {
         currentUser = null;
     }
 
+    private String truncate(String str, int length) {
+        if (str == null) return "N/A";
+        return str.length() > length ? str.substring(0, length - 3) + "..." : str;
+    }
+
     private int getIntInput() {
         try {
             String input = scanner.nextLine().trim();
@@ -0,0 +1,16 @@
+package com.musicapp.songplaylistmanager.console;
+
+import java.util.Scanner;
+
+// Prompt shared by the console listings that page through results
+final class ConsolePaging {
+
+    private ConsolePaging() {
+    }
+
+    // Asks whether to show the next page; anything but 'q' continues
+    static boolean askForNextPage(Scanner scanner, long shown) {
+        System.out.print("Showing " + shown + " so far. Press Enter for more, or 'q' to stop: ");
+        return !scanner.nextLine().trim().equalsIgnoreCase("q");
+    }
+}
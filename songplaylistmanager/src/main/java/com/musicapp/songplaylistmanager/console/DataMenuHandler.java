@@ -0,0 +1,160 @@
+package com.musicapp.songplaylistmanager.console;
+
+
+import com.musicapp.songplaylistmanager.dto.ExportReport;
+import com.musicapp.songplaylistmanager.export.DataSet;
+import com.musicapp.songplaylistmanager.export.ExportFormat;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import com.musicapp.songplaylistmanager.service.DataExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Scanner;
+
+@Component
+public class DataMenuHandler {
+
+    @Autowired
+    private DataExportService dataExportService;
+
+    private Scanner scanner = new Scanner(System.in);
+
+    public void handleDataMenu(User currentUser) {
+        if (!currentUser.isAdmin()) {
+            System.out.println("❌ Only admins can export or restore data.");
+            return;
+        }
+
+        boolean keepRunning = true;
+        while (keepRunning) {
+            System.out.println("\n" + "=".repeat(50));
+            System.out.println("💾 DATA EXPORT & RESTORE");
+            System.out.println("=".repeat(50));
+            System.out.println("1. Export All Collections");
+            System.out.println("2. Export One Collection");
+            System.out.println("3. Restore Collection from File");
+            System.out.println("4. Back to Main Menu");
+            System.out.println("=".repeat(50));
+            System.out.print("🎯 Choose an option: ");
+
+            int choice = getIntInput();
+
+            switch (choice) {
+                case 1:
+                    exportAll(currentUser);
+                    break;
+                case 2:
+                    exportOne(currentUser);
+                    break;
+                case 3:
+                    restore(currentUser);
+                    break;
+                case 4:
+                    keepRunning = false;
+                    break;
+                default:
+                    System.out.println("❌ Invalid option! Please try again.");
+            }
+        }
+    }
+
+    private void exportAll(User currentUser) {
+        System.out.println("\n📤 EXPORT ALL COLLECTIONS");
+        Path directory = askForDirectory();
+        ExportFormat format = askForFormat();
+        boolean gzip = askYesNo("Compress with gzip? (y/n): ");
+
+        try {
+            List<ExportReport> reports = dataExportService.exportAll(directory, format, gzip, currentUser.getId());
+            reports.forEach(this::printReport);
+        } catch (Exception e) {
+            System.out.println("❌ Export failed: " + e.getMessage());
+        }
+    }
+
+    private void exportOne(User currentUser) {
+        System.out.println("\n📤 EXPORT COLLECTION");
+        DataSet dataSet = askForDataSet();
+        if (dataSet == null) {
+            return;
+        }
+        Path directory = askForDirectory();
+        ExportFormat format = askForFormat();
+        boolean gzip = askYesNo("Compress with gzip? (y/n): ");
+
+        try {
+            printReport(dataExportService.exportCollection(dataSet, directory, format, gzip, currentUser.getId()));
+        } catch (Exception e) {
+            System.out.println("❌ Export failed: " + e.getMessage());
+        }
+    }
+
+    private void restore(User currentUser) {
+        System.out.println("\n📥 RESTORE COLLECTION");
+        DataSet dataSet = askForDataSet();
+        if (dataSet == null) {
+            return;
+        }
+
+        System.out.print("Enter export file path (.jsonl/.bson, optionally .gz): ");
+        Path file = Path.of(scanner.nextLine().trim());
+        if (!Files.isRegularFile(file)) {
+            System.out.println("❌ File not found: " + file);
+            return;
+        }
+
+        boolean replace = askYesNo("Replace existing " + dataSet.name().toLowerCase(Locale.ROOT) + " first? (y/n): ");
+        try {
+            printReport(dataExportService.restoreCollection(dataSet, file, replace, currentUser.getId()));
+        } catch (Exception e) {
+            System.out.println("❌ Restore failed: " + e.getMessage());
+        }
+    }
+
+    private void printReport(ExportReport report) {
+        System.out.printf("✅ %s: %,d documents, %,d bytes, %.1f s (%,.0f docs/s) -> %s%n",
+                report.getCollection(), report.getDocuments(), report.getBytes(),
+                report.getElapsed().toMillis() / 1000.0, report.getDocumentsPerSecond(), report.getFile());
+    }
+
+    private DataSet askForDataSet() {
+        System.out.print("Collection (songs/users/playlists): ");
+        String input = scanner.nextLine().trim().toUpperCase(Locale.ROOT);
+        try {
+            return DataSet.valueOf(input);
+        } catch (IllegalArgumentException e) {
+            System.out.println("❌ Unknown collection: " + input.toLowerCase(Locale.ROOT));
+            return null;
+        }
+    }
+
+    private Path askForDirectory() {
+        System.out.print("Output directory (Enter for ./export): ");
+        String input = scanner.nextLine().trim();
+        return Path.of(input.isEmpty() ? "export" : input);
+    }
+
+    private ExportFormat askForFormat() {
+        System.out.print("Format - 1. JSONL (readable)  2. BSON (compact) [1]: ");
+        return getIntInput() == 2 ? ExportFormat.BSON : ExportFormat.JSONL;
+    }
+
+    private boolean askYesNo(String prompt) {
+        System.out.print(prompt);
+        String input = scanner.nextLine().trim().toLowerCase(Locale.ROOT);
+        return input.equals("y") || input.equals("yes");
+    }
+
+    private int getIntInput() {
+        try {
+            String input = scanner.nextLine().trim();
+            return Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -2,10 +2,12 @@ package com.musicapp.songplaylistmanager.console;
 
 import com.musicapp.songplaylistmanager.model.Song.Playlist;
 import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.TrackSummary;
 import com.musicapp.songplaylistmanager.model.Song.User;
 import com.musicapp.songplaylistmanager.service.PlaylistService;
 import com.musicapp.songplaylistmanager.service.SongService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -21,6 +23,8 @@ public class PlaylistMenuHandler {
     @Autowired
     private SongService songService;
 
+    private static final int LIST_PAGE_SIZE = 25;
+
     private Scanner scanner = new Scanner(System.in);
 
     public void handlePlaylistMenu(User currentUser) {
@@ -132,27 +136,34 @@ public class PlaylistMenuHandler {
     private void viewAllPlaylists() {
         System.out.println("\n📝 ALL PLAYLISTS (ADMIN VIEW)");
         try {
-            List<Playlist> playlists = playlistService.getAllPlaylists();
-            if (playlists.isEmpty()) {
-                System.out.println("No playlists found.");
-                return;
-            }
-
-            System.out.println("=".repeat(120));
-            System.out.printf("%-25s %-20s %-30s %-25s %-10s%n",
-                    "ID", "NAME", "DESCRIPTION", "USER_ID", "SONGS");
-            System.out.println("=".repeat(120));
+            int page = 0;
+            long shown = 0;
+            Slice<Playlist> playlists;
+            do {
+                playlists = playlistService.getPlaylists(page++, LIST_PAGE_SIZE);
+                if (shown == 0 && !playlists.hasContent()) {
+                    System.out.println("No playlists found.");
+                    return;
+                }
 
-            for (Playlist playlist : playlists) {
+                System.out.println("=".repeat(120));
                 System.out.printf("%-25s %-20s %-30s %-25s %-10s%n",
-                        playlist.getId().substring(0, Math.min(24, playlist.getId().length())),
-                        truncate(playlist.getName(), 19),
-                        truncate(playlist.getDescription() != null ? playlist.getDescription() : "No description", 29),
-                        playlist.getUserId().substring(0, Math.min(24, playlist.getUserId().length())),
-                        playlist.getSongCount());
-            }
-            System.out.println("=".repeat(120));
-            System.out.println("Total playlists: " + playlists.size());
+                        "ID", "NAME", "DESCRIPTION", "USER_ID", "SONGS");
+                System.out.println("=".repeat(120));
+
+                for (Playlist playlist : playlists) {
+                    System.out.printf("%-25s %-20s %-30s %-25s %-10s%n",
+                            playlist.getId().substring(0, Math.min(24, playlist.getId().length())),
+                            truncate(playlist.getName(), 19),
+                            truncate(playlist.getDescription() != null ? playlist.getDescription() : "No description", 29),
+                            playlist.getUserId().substring(0, Math.min(24, playlist.getUserId().length())),
+                            playlist.getSongCount());
+                }
+                System.out.println("=".repeat(120));
+                shown += playlists.getNumberOfElements();
+            } while (playlists.hasNext() && ConsolePaging.askForNextPage(scanner, shown));
+
+            System.out.println("Playlists shown: " + shown);
 
         } catch (Exception e) {
             System.out.println("❌ Error fetching playlists: " + e.getMessage());
@@ -375,12 +386,10 @@ public class PlaylistMenuHandler {
             }
 
             System.out.println("Songs in playlist:");
-            for (int i = 0; i < songIds.size(); i++) {
-                String songId = songIds.get(i);
-                Optional<Song> songOpt = songService.getSongById(songId);
-                String songInfo = songOpt.map(song -> song.getTitle() + " by " + song.getArtist())
-                        .orElse("Unknown Song");
-                System.out.printf("%d. %s (ID: %s)%n", i + 1, songInfo, songId);
+            List<TrackSummary> tracks = playlistService.getPlaylistTracks(playlist);
+            for (int i = 0; i < tracks.size(); i++) {
+                TrackSummary track = tracks.get(i);
+                System.out.printf("%d. %s (ID: %s)%n", i + 1, describe(track), track.getSongId());
             }
 
             System.out.print("Enter the number of the song to remove: ");
@@ -423,13 +432,12 @@ public class PlaylistMenuHandler {
             if (songIds == null || songIds.isEmpty()) {
                 System.out.println("  No songs in this playlist.");
             } else {
-                for (int i = 0; i < songIds.size(); i++) {
-                    String songId = songIds.get(i);
-                    Optional<Song> songOpt = songService.getSongById(songId);
-                    String songInfo = songOpt.map(song -> song.getTitle() + " by " + song.getArtist())
-                            .orElse("Unknown Song");
-                    System.out.printf("  %d. %s (ID: %s)%n", i + 1, songInfo, songId);
+                List<TrackSummary> tracks = playlistService.getPlaylistTracks(playlist);
+                for (int i = 0; i < tracks.size(); i++) {
+                    TrackSummary track = tracks.get(i);
+                    System.out.printf("  %d. %s (ID: %s)%n", i + 1, describe(track), track.getSongId());
                 }
+                System.out.printf("Total duration: %d:%02d%n", playlist.getTotalDuration() / 60, playlist.getTotalDuration() % 60);
             }
 
         } catch (Exception e) {
@@ -440,6 +448,10 @@ public class PlaylistMenuHandler {
         scanner.nextLine();
     }
 
+    private static String describe(TrackSummary track) {
+        return track.getTitle() != null ? track.getTitle() + " by " + track.getArtist() : "Unknown Song";
+    }
+
     private int getIntInput() {
         while (true) {
             String input = scanner.nextLine().trim();
@@ -1,11 +1,17 @@
 package com.musicapp.songplaylistmanager.console;
 
+import com.musicapp.songplaylistmanager.dto.ImportReport;
 import com.musicapp.songplaylistmanager.model.Song.Song;
 import com.musicapp.songplaylistmanager.model.Song.User;
+import com.musicapp.songplaylistmanager.service.SongImportService;
 import com.musicapp.songplaylistmanager.service.SongService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
@@ -13,9 +19,15 @@ import java.util.Scanner;
 @Component
 public class SongMenuHandler {
 
+    private static final int SEARCH_PAGE_SIZE = 20;
+    private static final int LIST_PAGE_SIZE = 25;
+
     @Autowired
     private SongService songService;
 
+    @Autowired
+    private SongImportService songImportService;
+
     private Scanner scanner = new Scanner(System.in);
 
     public void handleSongMenu(User currentUser) {
@@ -33,7 +45,8 @@ public class SongMenuHandler {
                 System.out.println("5. Search Songs");
                 System.out.println("6. View Popular Songs");
                 System.out.println("7. Like/Unlike Song");
-                System.out.println("8. Back to Main Menu");
+                System.out.println("8. Import Songs from File (CSV/JSONL)");
+                System.out.println("9. Back to Main Menu");
             } else {
                 System.out.println("1. View All Songs");
                 System.out.println("2. Search Songs");
@@ -80,6 +93,9 @@ public class SongMenuHandler {
                 likeSong(currentUser);
                 break;
             case 8:
+                importSongs(currentUser);
+                break;
+            case 9:
                 return false; // go back to main menu
             default:
                 System.out.println("❌ Invalid option! Please try again.");
@@ -112,6 +128,50 @@ public class SongMenuHandler {
         return true;
     }
 
+    private void importSongs(User currentUser) {
+        System.out.println("\n📥 IMPORT SONGS");
+        System.out.println("CSV needs a header row (title,artist,album,genre,duration[,likeCount]);");
+        System.out.println("JSONL needs one song object per line.");
+        System.out.print("Enter file path: ");
+        String input = scanner.nextLine().trim();
+        if (input.isEmpty()) {
+            System.out.println("❌ File path cannot be empty!");
+            return;
+        }
+
+        Path file = Path.of(input);
+        if (!Files.isRegularFile(file)) {
+            System.out.println("❌ File not found: " + file);
+            return;
+        }
+
+        try {
+            ImportReport report = songImportService.importSongs(file, currentUser.getId(), progress -> {
+                if (!progress.isFinished()) {
+                    System.out.printf("   ⏳ %,d rows read, %,d imported, %,d rejected%n",
+                            progress.getProcessed(), progress.getInserted(), progress.getRejected());
+                }
+            });
+
+            System.out.println("✅ Import finished!");
+            System.out.printf("   Imported: %,d of %,d rows in %.1f s (%,.0f songs/s)%n",
+                    report.getInserted(), report.getProcessed(),
+                    report.getElapsed().toMillis() / 1000.0, report.getSongsPerSecond());
+            if (report.getRejected() > 0) {
+                System.out.printf("   Rejected: %,d rows%n", report.getRejected());
+                for (ImportReport.Rejection rejection : report.getRejections()) {
+                    System.out.println("   ⚠️ Line " + rejection.getLineNumber() + ": " + rejection.getReason());
+                }
+                if (report.getRejections().size() < report.getRejected()) {
+                    System.out.println("   ... and " + (report.getRejected() - report.getRejections().size()) + " more");
+                }
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Import failed: " + e.getMessage());
+        }
+    }
+
     private void addNewSong(User currentUser) {
         System.out.println("\n➕ ADD NEW SONG");
 
@@ -156,28 +216,35 @@ public class SongMenuHandler {
     private void viewAllSongs() {
         System.out.println("\n🎵 ALL SONGS");
         try {
-            List<Song> songs = songService.getAllSongs();
-            if (songs.isEmpty()) {
-                System.out.println("No songs found.");
-                return;
-            }
-
-            System.out.println("=".repeat(120));
-            System.out.printf("%-25s %-20s %-20s %-15s %-15s %-10s%n",
-                    "ID", "TITLE", "ARTIST", "ALBUM", "GENRE", "LIKES");
-            System.out.println("=".repeat(120));
-
-            for (Song song : songs) {
+            int page = 0;
+            long shown = 0;
+            Slice<Song> songs;
+            do {
+                songs = songService.getSongs(page++, LIST_PAGE_SIZE);
+                if (shown == 0 && !songs.hasContent()) {
+                    System.out.println("No songs found.");
+                    return;
+                }
+
+                System.out.println("=".repeat(120));
                 System.out.printf("%-25s %-20s %-20s %-15s %-15s %-10s%n",
-                        song.getId().substring(0, Math.min(24, song.getId().length())),
-                        truncate(song.getTitle(), 19),
-                        truncate(song.getArtist(), 19),
-                        truncate(song.getAlbum() != null ? song.getAlbum() : "N/A", 14),
-                        truncate(song.getGenre() != null ? song.getGenre() : "N/A", 14),
-                        song.getLikeCount());
-            }
-            System.out.println("=".repeat(120));
-            System.out.println("Total songs: " + songs.size());
+                        "ID", "TITLE", "ARTIST", "ALBUM", "GENRE", "LIKES");
+                System.out.println("=".repeat(120));
+
+                for (Song song : songs) {
+                    System.out.printf("%-25s %-20s %-20s %-15s %-15s %-10s%n",
+                            song.getId().substring(0, Math.min(24, song.getId().length())),
+                            truncate(song.getTitle(), 19),
+                            truncate(song.getArtist(), 19),
+                            truncate(song.getAlbum() != null ? song.getAlbum() : "N/A", 14),
+                            truncate(song.getGenre() != null ? song.getGenre() : "N/A", 14),
+                            song.getLikeCount());
+                }
+                System.out.println("=".repeat(120));
+                shown += songs.getNumberOfElements();
+            } while (songs.hasNext() && ConsolePaging.askForNextPage(scanner, shown));
+
+            System.out.println("Songs shown: " + shown);
 
         } catch (Exception e) {
             System.out.println("❌ Error fetching songs: " + e.getMessage());
@@ -201,7 +268,10 @@ public class SongMenuHandler {
                 return;
             }
 
-            Song song = songOpt.get();
+            // Edit a copy: the looked-up song may be the shared cached instance
+            Song current = songOpt.get();
+            Song song = new Song(current.getTitle(), current.getArtist(), current.getAlbum(),
+                    current.getGenre(), current.getDuration());
             System.out.println("Current song details: " + song.getTitle() + " by " + song.getArtist());
 
             System.out.print("Enter new title (press Enter to keep current): ");
@@ -270,11 +340,12 @@ public class SongMenuHandler {
 
     private void searchSongs() {
         System.out.println("\n🔍 SEARCH SONGS");
-        System.out.print("Enter search term (title or artist): ");
+        System.out.print("Enter search term (title, artist, album or genre): ");
         String searchTerm = scanner.nextLine().trim();
 
         try {
-            List<Song> songs = songService.searchSongs(searchTerm);
+            Page<Song> results = songService.searchSongs(searchTerm, 0, SEARCH_PAGE_SIZE);
+            List<Song> songs = results.getContent();
             if (songs.isEmpty()) {
                 System.out.println("No songs found matching: " + searchTerm);
                 return;
@@ -291,7 +362,8 @@ public class SongMenuHandler {
                 System.out.println();
             }
             System.out.println("=".repeat(80));
-            System.out.println("Total results: " + songs.size());
+            System.out.println("Total results: " + results.getTotalElements() +
+                    (results.hasNext() ? " (showing top " + songs.size() + ")" : ""));
 
         } catch (Exception e) {
             System.out.println("❌ Search failed: " + e.getMessage());
@@ -1,12 +1,16 @@
 package com.musicapp.songplaylistmanager.console;
 
 
+import com.musicapp.songplaylistmanager.dto.SongLookupResult;
+import com.musicapp.songplaylistmanager.dto.SystemStatistics;
 import com.musicapp.songplaylistmanager.model.Song.Role;
 import com.musicapp.songplaylistmanager.model.Song.Song;
 import com.musicapp.songplaylistmanager.model.Song.User;
 import com.musicapp.songplaylistmanager.service.UserService;
 import com.musicapp.songplaylistmanager.service.SongService;
+import com.musicapp.songplaylistmanager.service.StatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -22,6 +26,11 @@ public class UserMenuHandler {
     @Autowired
     private SongService songService; // New field for SongService
 
+    @Autowired
+    private StatisticsService statisticsService;
+
+    private static final int LIST_PAGE_SIZE = 25;
+
     private Scanner scanner = new Scanner(System.in);
 
     public void handleUserMenu(User currentUser) {
@@ -117,27 +126,34 @@ public class UserMenuHandler {
     private void viewAllUsers() {
         System.out.println("\n👥 ALL USERS");
         try {
-            List<User> users = userService.getAllUsers();
-            if (users.isEmpty()) {
-                System.out.println("No users found.");
-                return;
-            }
-
-            System.out.println("=".repeat(100));
-            System.out.printf("%-25s %-20s %-30s %-15s %-10s%n",
-                    "ID", "USERNAME", "EMAIL", "ROLE", "LIKED SONGS");
-            System.out.println("=".repeat(100));
+            int page = 0;
+            long shown = 0;
+            Slice<User> users;
+            do {
+                users = userService.getUsers(page++, LIST_PAGE_SIZE);
+                if (shown == 0 && !users.hasContent()) {
+                    System.out.println("No users found.");
+                    return;
+                }
 
-            for (User user : users) {
+                System.out.println("=".repeat(100));
                 System.out.printf("%-25s %-20s %-30s %-15s %-10s%n",
-                        user.getId().substring(0, Math.min(24, user.getId().length())),
-                        truncate(user.getUsername(), 19),
-                        truncate(user.getEmail(), 29),
-                        user.getRole(),
-                        user.getLikedSongs().size());
-            }
-            System.out.println("=".repeat(100));
-            System.out.println("Total users: " + users.size());
+                        "ID", "USERNAME", "EMAIL", "ROLE", "LIKED SONGS");
+                System.out.println("=".repeat(100));
+
+                for (User user : users) {
+                    System.out.printf("%-25s %-20s %-30s %-15s %-10s%n",
+                            user.getId().substring(0, Math.min(24, user.getId().length())),
+                            truncate(user.getUsername(), 19),
+                            truncate(user.getEmail(), 29),
+                            user.getRole(),
+                            user.getLikedSongs().size());
+                }
+                System.out.println("=".repeat(100));
+                shown += users.getNumberOfElements();
+            } while (users.hasNext() && ConsolePaging.askForNextPage(scanner, shown));
+
+            System.out.println("Users shown: " + shown);
 
         } catch (Exception e) {
             System.out.println("❌ Error fetching users: " + e.getMessage());
@@ -217,25 +233,18 @@ public class UserMenuHandler {
     private void viewUserStatistics() {
         System.out.println("\n📊 USER STATISTICS");
         try {
-            List<User> users = userService.getAllUsers();
-
-            long adminCount = users.stream().filter(User::isAdmin).count();
-            long userCount = users.size() - adminCount;
+            SystemStatistics stats = statisticsService.getStatistics();
 
             System.out.println("=".repeat(40));
             System.out.println("📈 USER STATISTICS");
             System.out.println("=".repeat(40));
-            System.out.println("👑 Total Admins: " + adminCount);
-            System.out.println("👤 Total Regular Users: " + userCount);
-            System.out.println("📊 Total Users: " + users.size());
+            System.out.println("👑 Total Admins: " + stats.getAdminUsers());
+            System.out.println("👤 Total Regular Users: " + stats.getRegularUsers());
+            System.out.println("📊 Total Users: " + stats.getTotalUsers());
 
             System.out.println("\n🏆 MOST ACTIVE USERS (by liked songs):");
-            users.stream()
-                    .sorted((u1, u2) -> Integer.compare(u2.getLikedSongs().size(), u1.getLikedSongs().size()))
-                    .limit(5)
-                    .forEach(user ->
-                            System.out.println("   👤 " + user.getUsername() + " - " +
-                                    user.getLikedSongs().size() + " liked songs"));
+            stats.getMostActiveUsers().forEach((username, likedCount) ->
+                    System.out.println("   👤 " + username + " - " + likedCount + " liked songs"));
 
             System.out.println("=".repeat(40));
 
@@ -311,8 +320,9 @@ public class UserMenuHandler {
             System.out.println("❤️ YOUR LIKED SONGS (" + likedSongIds.size() + " songs)");
             System.out.println("=".repeat(80));
 
+            SongLookupResult likedSongs = songService.getSongsByIds(likedSongIds);
             for (String songId : likedSongIds) {
-                Optional<Song> songOpt = songService.getSongById(songId);
+                Optional<Song> songOpt = likedSongs.getSong(songId);
                 if (songOpt.isPresent()) {
                     Song song = songOpt.get();
                     System.out.println("🎵 " + song.getTitle() + " by " + song.getArtist() + " (ID: " + song.getId() + ")");
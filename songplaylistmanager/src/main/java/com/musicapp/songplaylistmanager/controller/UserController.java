@@ -1,112 +1,101 @@
-//package com.musicapp.songplaylistmanager.controller;
-//
-//
-//
-//
-//import com.musicapp.songplaylistmanager.model.Song.User;
-//import com.musicapp.songplaylistmanager.service.UserService;
-//import org.slf4j.Logger;
-//import org.slf4j.LoggerFactory;
-//import org.springframework.beans.factory.annotation.Autowired;
-//import org.springframework.http.HttpStatus;
-//import org.springframework.http.ResponseEntity;
-//import org.springframework.web.bind.annotation.*;
-//import jakarta.validation.Valid;
-//import java.util.List;
-//import java.util.Optional;
-//
-//@RestController
-//@RequestMapping("/api/users")
-//public class UserController {
-//
-//    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
-//
-//    @Autowired
-//    private UserService userService;
-//
-//    // Create user
-//    @PostMapping
-//    public ResponseEntity<?> createUser(@Valid @RequestBody User user) {
-//        try {
-//            logger.info("👤 API: Creating user: {}", user.getUsername());
-//            User createdUser = userService.createUser(user);
-//            logger.info("✅ API: User created successfully with ID: {}", createdUser.getId());
-//            return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
-//        } catch (Exception e) {
-//            logger.error("❌ API: Error creating user: {}", e.getMessage());
-//            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
-//        }
-//    }
-//
-//    // Get user by ID
-//    @GetMapping("/{id}")
-//    public ResponseEntity<?> getUserById(@PathVariable String id) {
-//        logger.info("🔍 API: Fetching user with ID: {}", id);
-//        Optional<User> user = userService.getUserById(id);
-//
-//        if (user.isPresent()) {
-//            logger.info("✅ API: User found: {}", user.get().getUsername());
-//            return ResponseEntity.ok(user.get());
-//        } else {
-//            logger.warn("❌ API: User not found with ID: {}", id);
-//            return ResponseEntity.notFound().build();
-//        }
-//    }
-//
-//    // Get all users
-//    @GetMapping
-//    public ResponseEntity<List<User>> getAllUsers() {
-//        logger.info("📋 API: Fetching all users");
-//        List<User> users = userService.getAllUsers();
-//        logger.info("✅ API: Retrieved {} users", users.size());
-//        return ResponseEntity.ok(users);
-//    }
-//
-//    // Update user
-//    @PutMapping("/{id}")
-//    public ResponseEntity<?> updateUser(@PathVariable String id,
-//                                        @Valid @RequestBody User user) {
-//        try {
-//            logger.info("🔄 API: Updating user with ID: {}", id);
-//            User updatedUser = userService.updateUser(id, user);
-//            logger.info("✅ API: User updated successfully: {}", updatedUser.getUsername());
-//            return ResponseEntity.ok(updatedUser);
-//        } catch (Exception e) {
-//            logger.error("❌ API: Error updating user: {}", e.getMessage());
-//            if (e.getMessage().contains("not found")) {
-//                return ResponseEntity.notFound().build();
-//            }
-//            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
-//        }
-//    }
-//
-//    // Get user's liked songs
-//    @GetMapping("/{id}/liked-songs")
-//    public ResponseEntity<?> getUserLikedSongs(@PathVariable String id) {
-//        try {
-//            logger.info("❤️ API: Fetching liked songs for user ID: {}", id);
-//            List<String> likedSongs = userService.getUserLikedSongs(id);
-//            logger.info("✅ API: Retrieved {} liked songs", likedSongs.size());
-//            return ResponseEntity.ok(likedSongs);
-//        } catch (Exception e) {
-//            logger.error("❌ API: Error fetching liked songs: {}", e.getMessage());
-//            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
-//        }
-//    }
-//
-//    // Get user by username
-//    @GetMapping("/username/{username}")
-//    public ResponseEntity<?> getUserByUsername(@PathVariable String username) {
-//        logger.info("🔍 API: Fetching user by username: {}", username);
-//        Optional<User> user = userService.getUserByUsername(username);
-//
-//        if (user.isPresent()) {
-//            logger.info("✅ API: User found: {}", user.get().getUsername());
-//            return ResponseEntity.ok(user.get());
-//        } else {
-//            logger.warn("❌ API: User not found with username: {}", username);
-//            return ResponseEntity.notFound().build();
-//        }
-//    }
-//}
-//
+package com.musicapp.songplaylistmanager.controller;
+
+
+
+
+import com.musicapp.songplaylistmanager.dto.RegistrationReport;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import com.musicapp.songplaylistmanager.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+import java.util.List;
+
+// Failures propagate to GlobalExceptionHandler, which picks the HTTP status
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private UserService userService;
+
+    // Create user
+    @PostMapping
+    public ResponseEntity<User> createUser(@Valid @RequestBody User user) {
+        logger.info("👤 API: Creating user: {}", user.getUsername());
+        User createdUser = userService.createUser(user);
+        logger.info("✅ API: User created successfully with ID: {}", createdUser.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+    }
+
+    // Register many users in one request (Admin only)
+    @PostMapping("/bulk")
+    public ResponseEntity<RegistrationReport> registerUsers(@RequestBody List<User> users,
+                                                            @RequestParam String adminUserId) {
+        logger.info("👥 API: Registering {} users", users.size());
+        RegistrationReport report = userService.registerUsers(users, adminUserId);
+        logger.info("✅ API: Registered {} of {} users", report.getRegistered(), report.getRequested());
+        return ResponseEntity.ok(report);
+    }
+
+    // Get user by ID
+    @GetMapping("/{id}")
+    public ResponseEntity<User> getUserById(@PathVariable String id) {
+        logger.debug("🔍 API: Fetching user with ID: {}", id);
+        return userService.getUserById(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    logger.warn("❌ API: User not found with ID: {}", id);
+                    return ResponseEntity.notFound().build();
+                });
+    }
+
+    // Get users, one page at a time
+    @GetMapping
+    public ResponseEntity<List<User>> getAllUsers(@RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "50") int size) {
+        logger.info("📋 API: Fetching users page {} (size {})", page, size);
+        List<User> users = userService.getUsers(page, Math.min(size, MAX_PAGE_SIZE)).getContent();
+        logger.info("✅ API: Retrieved {} users", users.size());
+        return ResponseEntity.ok(users);
+    }
+
+    // Update user
+    @PutMapping("/{id}")
+    public ResponseEntity<User> updateUser(@PathVariable String id,
+                                           @Valid @RequestBody User user) {
+        logger.info("🔄 API: Updating user with ID: {}", id);
+        User updatedUser = userService.updateUser(id, user);
+        logger.info("✅ API: User updated successfully: {}", updatedUser.getUsername());
+        return ResponseEntity.ok(updatedUser);
+    }
+
+    // Get user's liked songs
+    @GetMapping("/{id}/liked-songs")
+    public ResponseEntity<List<String>> getUserLikedSongs(@PathVariable String id) {
+        logger.info("❤️ API: Fetching liked songs for user ID: {}", id);
+        List<String> likedSongs = userService.getUserLikedSongs(id);
+        logger.info("✅ API: Retrieved {} liked songs", likedSongs.size());
+        return ResponseEntity.ok(likedSongs);
+    }
+
+    // Get user by username
+    @GetMapping("/username/{username}")
+    public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
+        logger.info("🔍 API: Fetching user by username: {}", username);
+        return userService.getUserByUsername(username)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    logger.warn("❌ API: User not found with username: {}", username);
+                    return ResponseEntity.notFound().build();
+                });
+    }
+}
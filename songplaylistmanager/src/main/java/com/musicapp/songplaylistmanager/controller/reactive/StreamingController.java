@@ -0,0 +1,79 @@
+package com.musicapp.songplaylistmanager.controller.reactive;
+
+
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import com.musicapp.songplaylistmanager.service.reactive.ReactivePlaylistService;
+import com.musicapp.songplaylistmanager.service.reactive.ReactiveSongService;
+import com.musicapp.songplaylistmanager.service.reactive.ReactiveUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+// Newline-delimited JSON streams over the reactive services ('reactive' profile only).
+// Each document is written as soon as it is read, with backpressure from the client connection:
+//   curl -N http://localhost:8080/api/stream/playlists/{id}/songs
+@RestController
+@Profile("reactive")
+@RequestMapping(value = "/api/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+public class StreamingController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private ReactiveSongService songService;
+
+    @Autowired
+    private ReactivePlaylistService playlistService;
+
+    @Autowired
+    private ReactiveUserService userService;
+
+    // Stream every song
+    @GetMapping("/songs")
+    public Flux<Song> streamSongs() {
+        return songService.getAllSongs();
+    }
+
+    // Stream a page of search results in relevance order
+    @GetMapping("/songs/search")
+    public Flux<Song> searchSongs(@RequestParam String query,
+                                  @RequestParam(defaultValue = "0") int page,
+                                  @RequestParam(defaultValue = "50") int size) {
+        return songService.searchSongs(query, page, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // Stream songs by genre
+    @GetMapping("/songs/genre/{genre}")
+    public Flux<Song> streamSongsByGenre(@PathVariable String genre) {
+        return songService.getSongsByGenre(genre);
+    }
+
+    // Stream every playlist
+    @GetMapping("/playlists")
+    public Flux<Playlist> streamPlaylists() {
+        return playlistService.getAllPlaylists();
+    }
+
+    // Stream the songs of one playlist in playlist order
+    @GetMapping("/playlists/{id}/songs")
+    public Flux<Song> streamPlaylistSongs(@PathVariable String id) {
+        return playlistService.getPlaylistSongs(id);
+    }
+
+    // Stream every user
+    @GetMapping("/users")
+    public Flux<User> streamUsers() {
+        return userService.getAllUsers();
+    }
+
+    // Stream a user's liked songs
+    @GetMapping("/users/{id}/liked-songs")
+    public Flux<Song> streamLikedSongs(@PathVariable String id) {
+        return userService.getLikedSongs(id);
+    }
+}
@@ -0,0 +1,59 @@
+package com.musicapp.songplaylistmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// JSON body returned by GlobalExceptionHandler for every failed API request
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ErrorResponse {
+
+    private final LocalDateTime timestamp;
+    private final int status;
+    private final String error;
+    private final String message;
+    private final String path;
+    private final List<FieldViolation> errors;
+
+    public ErrorResponse(int status, String error, String message, String path) {
+        this(status, error, message, path, List.of());
+    }
+
+    public ErrorResponse(int status, String error, String message, String path, List<FieldViolation> errors) {
+        this.timestamp = LocalDateTime.now();
+        this.status = status;
+        this.error = error;
+        this.message = message;
+        this.path = path;
+        this.errors = errors;
+    }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+
+    public int getStatus() { return status; }
+
+    public String getError() { return error; }
+
+    public String getMessage() { return message; }
+
+    public String getPath() { return path; }
+
+    public List<FieldViolation> getErrors() { return errors; }
+
+    // One rejected request field
+    public static class FieldViolation {
+
+        private final String field;
+        private final String message;
+
+        public FieldViolation(String field, String message) {
+            this.field = field;
+            this.message = message;
+        }
+
+        public String getField() { return field; }
+
+        public String getMessage() { return message; }
+    }
+}
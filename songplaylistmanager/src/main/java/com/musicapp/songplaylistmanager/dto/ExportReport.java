@@ -0,0 +1,38 @@
+package com.musicapp.songplaylistmanager.dto;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Outcome of exporting or restoring one collection
+public class ExportReport {
+
+    private final String collection;
+    private final Path file;
+    private final long documents;
+    private final long bytes;
+    private final Duration elapsed;
+
+    public ExportReport(String collection, Path file, long documents, long bytes, Duration elapsed) {
+        this.collection = collection;
+        this.file = file;
+        this.documents = documents;
+        this.bytes = bytes;
+        this.elapsed = elapsed;
+    }
+
+    public String getCollection() { return collection; }
+
+    public Path getFile() { return file; }
+
+    public long getDocuments() { return documents; }
+
+    // Bytes written before compression (export) or size of the file read (restore)
+    public long getBytes() { return bytes; }
+
+    public Duration getElapsed() { return elapsed; }
+
+    public double getDocumentsPerSecond() {
+        long millis = elapsed.toMillis();
+        return millis == 0 ? 0.0 : documents * 1000.0 / millis;
+    }
+}
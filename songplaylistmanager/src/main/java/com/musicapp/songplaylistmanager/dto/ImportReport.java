@@ -0,0 +1,64 @@
+package com.musicapp.songplaylistmanager.dto;
+
+import java.time.Duration;
+import java.util.List;
+
+// Progress/outcome of a song import job. A new snapshot is handed to the
+// progress listener after every batch; the last one is the final report.
+public class ImportReport {
+
+    private final String source;
+    private final long processed;
+    private final long inserted;
+    private final long rejected;
+    private final List<Rejection> rejections;
+    private final Duration elapsed;
+    private final boolean finished;
+
+    public ImportReport(String source, long processed, long inserted, long rejected,
+                        List<Rejection> rejections, Duration elapsed, boolean finished) {
+        this.source = source;
+        this.processed = processed;
+        this.inserted = inserted;
+        this.rejected = rejected;
+        this.rejections = rejections;
+        this.elapsed = elapsed;
+        this.finished = finished;
+    }
+
+    public String getSource() { return source; }
+
+    public long getProcessed() { return processed; }
+
+    public long getInserted() { return inserted; }
+
+    public long getRejected() { return rejected; }
+
+    // The first rejected rows (capped by app.import.max-reported-rejects)
+    public List<Rejection> getRejections() { return rejections; }
+
+    public Duration getElapsed() { return elapsed; }
+
+    public boolean isFinished() { return finished; }
+
+    public double getSongsPerSecond() {
+        long millis = elapsed.toMillis();
+        return millis == 0 ? 0.0 : inserted * 1000.0 / millis;
+    }
+
+    // One input line that was not imported
+    public static class Rejection {
+
+        private final long lineNumber;
+        private final String reason;
+
+        public Rejection(long lineNumber, String reason) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+
+        public long getLineNumber() { return lineNumber; }
+
+        public String getReason() { return reason; }
+    }
+}
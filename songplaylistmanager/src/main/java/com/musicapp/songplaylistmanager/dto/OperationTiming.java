@@ -0,0 +1,39 @@
+package com.musicapp.songplaylistmanager.dto;
+
+// Latency summary for one timed operation (service method or repository query).
+// Times are in milliseconds; percentiles are 0 until the timer has recorded samples.
+public class OperationTiming {
+
+    private final String layer;
+    private final String operation;
+    private final long count;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    public OperationTiming(String layer, String operation, long count, double meanMillis,
+                           double p50Millis, double p99Millis, double maxMillis) {
+        this.layer = layer;
+        this.operation = operation;
+        this.count = count;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    public String getLayer() { return layer; }
+
+    public String getOperation() { return operation; }
+
+    public long getCount() { return count; }
+
+    public double getMeanMillis() { return meanMillis; }
+
+    public double getP50Millis() { return p50Millis; }
+
+    public double getP99Millis() { return p99Millis; }
+
+    public double getMaxMillis() { return maxMillis; }
+}
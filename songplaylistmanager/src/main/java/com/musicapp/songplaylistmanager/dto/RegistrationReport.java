@@ -0,0 +1,54 @@
+package com.musicapp.songplaylistmanager.dto;
+
+import java.time.Duration;
+import java.util.List;
+
+// Outcome of a bulk user registration
+public class RegistrationReport {
+
+    private final long requested;
+    private final long registered;
+    private final long rejected;
+    private final List<Rejection> rejections;
+    private final Duration elapsed;
+
+    public RegistrationReport(long requested, long registered, long rejected,
+                              List<Rejection> rejections, Duration elapsed) {
+        this.requested = requested;
+        this.registered = registered;
+        this.rejected = rejected;
+        this.rejections = rejections;
+        this.elapsed = elapsed;
+    }
+
+    public long getRequested() { return requested; }
+
+    public long getRegistered() { return registered; }
+
+    public long getRejected() { return rejected; }
+
+    // The first rejected accounts (capped by app.registration.max-reported-rejects)
+    public List<Rejection> getRejections() { return rejections; }
+
+    public Duration getElapsed() { return elapsed; }
+
+    // One account that was not registered, by its position in the request
+    public static class Rejection {
+
+        private final int position;
+        private final String username;
+        private final String reason;
+
+        public Rejection(int position, String username, String reason) {
+            this.position = position;
+            this.username = username;
+            this.reason = reason;
+        }
+
+        public int getPosition() { return position; }
+
+        public String getUsername() { return username; }
+
+        public String getReason() { return reason; }
+    }
+}
@@ -0,0 +1,55 @@
+package com.musicapp.songplaylistmanager.dto;
+
+import com.musicapp.songplaylistmanager.model.Song.Song;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Result of resolving a batch of song IDs in one query.
+// Keeps the requested order and remembers which IDs had no matching song.
+public class SongLookupResult {
+
+    private final List<String> requestedIds;
+    private final Map<String, Song> songsById;
+    private final List<String> missingIds;
+
+    public SongLookupResult(List<String> requestedIds, Map<String, Song> songsById) {
+        this.requestedIds = requestedIds;
+        this.songsById = songsById;
+
+        List<String> missing = new ArrayList<>();
+        for (String id : requestedIds) {
+            if (!songsById.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        this.missingIds = Collections.unmodifiableList(missing);
+    }
+
+    // Songs that were found, in the order they were requested
+    public List<Song> getSongs() {
+        List<Song> songs = new ArrayList<>(requestedIds.size());
+        for (String id : requestedIds) {
+            Song song = songsById.get(id);
+            if (song != null) {
+                songs.add(song);
+            }
+        }
+        return songs;
+    }
+
+    public Optional<Song> getSong(String id) {
+        return Optional.ofNullable(songsById.get(id));
+    }
+
+    public List<String> getRequestedIds() { return requestedIds; }
+
+    public List<String> getMissingIds() { return missingIds; }
+
+    public boolean hasMissing() {
+        return !missingIds.isEmpty();
+    }
+}
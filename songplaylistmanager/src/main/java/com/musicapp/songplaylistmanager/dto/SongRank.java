@@ -0,0 +1,26 @@
+package com.musicapp.songplaylistmanager.dto;
+
+// Position of one song on the most-liked leaderboard.
+// Songs with equal likes share a rank (1, 2, 2, 4, ...).
+public class SongRank {
+
+    private final String songId;
+    private final int rank;
+    private final int likeCount;
+    private final int totalSongs;
+
+    public SongRank(String songId, int rank, int likeCount, int totalSongs) {
+        this.songId = songId;
+        this.rank = rank;
+        this.likeCount = likeCount;
+        this.totalSongs = totalSongs;
+    }
+
+    public String getSongId() { return songId; }
+
+    public int getRank() { return rank; }
+
+    public int getLikeCount() { return likeCount; }
+
+    public int getTotalSongs() { return totalSongs; }
+}
@@ -0,0 +1,59 @@
+package com.musicapp.songplaylistmanager.dto;
+
+import com.musicapp.songplaylistmanager.model.Song.Song;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Point-in-time snapshot of system-wide counts and aggregates.
+// Built by StatisticsService; reading it never touches the database.
+public class SystemStatistics {
+
+    private final long totalUsers;
+    private final long adminUsers;
+    private final long totalSongs;
+    private final long totalPlaylists;
+    private final Map<String, Long> songsByGenre;
+    private final double averagePlaylistLength;
+    private final List<Song> topLikedSongs;
+    private final Map<String, Integer> mostActiveUsers;
+    private final LocalDateTime computedAt;
+
+    public SystemStatistics(long totalUsers, long adminUsers, long totalSongs, long totalPlaylists,
+                            Map<String, Long> songsByGenre, double averagePlaylistLength,
+                            List<Song> topLikedSongs, Map<String, Integer> mostActiveUsers,
+                            LocalDateTime computedAt) {
+        this.totalUsers = totalUsers;
+        this.adminUsers = adminUsers;
+        this.totalSongs = totalSongs;
+        this.totalPlaylists = totalPlaylists;
+        this.songsByGenre = songsByGenre;
+        this.averagePlaylistLength = averagePlaylistLength;
+        this.topLikedSongs = topLikedSongs;
+        this.mostActiveUsers = mostActiveUsers;
+        this.computedAt = computedAt;
+    }
+
+    public long getTotalUsers() { return totalUsers; }
+
+    public long getAdminUsers() { return adminUsers; }
+
+    public long getRegularUsers() { return totalUsers - adminUsers; }
+
+    public long getTotalSongs() { return totalSongs; }
+
+    public long getTotalPlaylists() { return totalPlaylists; }
+
+    // Genre -> number of songs, largest genre first
+    public Map<String, Long> getSongsByGenre() { return songsByGenre; }
+
+    public double getAveragePlaylistLength() { return averagePlaylistLength; }
+
+    public List<Song> getTopLikedSongs() { return topLikedSongs; }
+
+    // Username -> liked song count, most active first
+    public Map<String, Integer> getMostActiveUsers() { return mostActiveUsers; }
+
+    public LocalDateTime getComputedAt() { return computedAt; }
+}
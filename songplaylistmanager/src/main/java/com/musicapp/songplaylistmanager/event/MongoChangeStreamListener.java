@@ -0,0 +1,297 @@
+package com.musicapp.songplaylistmanager.event;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Follows MongoDB change streams on songs and users so writes made by other app instances
+// reach this instance's caches and indexes. Each change is republished as the matching
+// typed event (SongChangedEvent, UserChangedEvent, PlaylistChangedEvent),
+// the same events local writes raise, so every listener stays in sync without knowing
+// where the write came from. Local writes come back through the stream as well; the
+// listeners are idempotent, so the echo only costs a repeated update.
+//
+// The last seen resume token per collection is persisted, so after a restart or a dropped
+// connection the stream picks up where it left off. If the oplog no longer holds that
+// point, the stream restarts from now and a CLEARED event makes the listeners rebuild.
+// Requires a replica set or sharded cluster; enable with app.change-streams.enabled=true.
+// Playlists are not followed by default since nothing caches them yet; add "playlists" to
+// app.change-streams.collections once a PlaylistChangedEvent listener exists.
+@Component
+@ConditionalOnProperty(name = "app.change-streams.enabled", havingValue = "true")
+public class MongoChangeStreamListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoChangeStreamListener.class);
+
+    static final String RESUME_TOKENS_COLLECTION = "changeStreamResumeTokens";
+
+    // ChangeStreamHistoryLost / ChangeStreamFatalError / InvalidResumeToken: the stream cannot
+    // continue from the stored point
+    private static final int HISTORY_LOST = 286;
+    private static final int FATAL_ERROR = 280;
+    private static final int INVALID_RESUME_TOKEN = 260;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.change-streams.collections:songs,users}")
+    private List<String> collections;
+
+    @Value("${app.change-streams.max-await:1s}")
+    private Duration maxAwait;
+
+    @Value("${app.change-streams.retry-delay:5s}")
+    private Duration retryDelay;
+
+    // Per collection, registered once in registerMeters()
+    private final Map<String, Counter> eventCounters = new HashMap<>();
+
+    // Latest token per collection, written to MongoDB by flushResumeTokens()
+    private final Map<String, BsonDocument> pendingTokens = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @PostConstruct
+    void registerMeters() {
+        for (String collection : collections) {
+            eventCounters.put(collection, meterRegistry.counter("app.change-stream.events", "collection", collection));
+        }
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (String collection : collections) {
+            workers.add(Thread.ofVirtual()
+                    .name("change-stream-" + collection)
+                    .start(() -> follow(collection)));
+        }
+        logger.info("📡 Following change streams on {}", collections);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(maxAwait.multipliedBy(2).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+        flushResumeTokens();
+    }
+
+    // Tokens are saved on an interval rather than per change; after a crash the few changes
+    // since the last flush are replayed, which the idempotent listeners absorb
+    @Scheduled(fixedDelayString = "${app.change-streams.token-flush-interval-ms:1000}")
+    public void flushResumeTokens() {
+        for (String collection : collections) {
+            BsonDocument token = pendingTokens.remove(collection);
+            if (token == null) {
+                continue;
+            }
+            try {
+                saveResumeToken(collection, token);
+            } catch (RuntimeException e) {
+                // Keep it for the next flush unless a newer token has arrived meanwhile
+                pendingTokens.putIfAbsent(collection, token);
+                logger.warn("⚠️ Could not save change stream resume token for {}: {}", collection, e.getMessage());
+            }
+        }
+    }
+
+    private void follow(String collection) {
+        while (running) {
+            BsonDocument resumeToken = loadResumeToken(collection);
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openCursor(collection, resumeToken)) {
+                logger.info("📡 Change stream open on {} ({})", collection,
+                        resumeToken != null ? "resumed" : "from now");
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        dispatch(collection, change.getOperationType(), change.getDocumentKey(), change.getFullDocument());
+                        eventCounters.get(collection).increment();
+                    }
+                    // Also advances on idle collections (post-batch token), so a resume never starts far back
+                    if (cursor.getResumeToken() != null) {
+                        pendingTokens.put(collection, cursor.getResumeToken());
+                    }
+                    if (change != null && change.getOperationType() == OperationType.INVALIDATE) {
+                        // An invalidated stream cannot be resumed; reopen from now
+                        forgetResumeToken(collection);
+                        break;
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == HISTORY_LOST || e.getErrorCode() == FATAL_ERROR
+                        || e.getErrorCode() == INVALID_RESUME_TOKEN) {
+                    logger.warn("⚠️ Change stream history lost on {}, rebuilding local state", collection);
+                    forgetResumeToken(collection);
+                    dispatch(collection, OperationType.INVALIDATE, null, null);
+                } else {
+                    logger.error("❌ Change stream on {} failed: {}", collection, e.getErrorMessage());
+                    pause();
+                }
+            } catch (RuntimeException e) {
+                if (running) {
+                    logger.error("❌ Change stream on {} failed: {}", collection, e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor(String collection, BsonDocument resumeToken) {
+        var stream = mongoTemplate.getCollection(collection)
+                .watch()
+                .maxAwaitTime(maxAwait.toMillis(), TimeUnit.MILLISECONDS);
+        if ("songs".equals(collection)) {
+            // Only songs events carry the document; elsewhere the ID is enough and the lookup is wasted
+            stream = stream.fullDocument(FullDocument.UPDATE_LOOKUP);
+        }
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    // Turns one change into the typed event for its collection. Drops, renames and
+    // invalidations (also used for lost history) become CLEARED.
+    void dispatch(String collection, OperationType operation, BsonDocument documentKey, Document fullDocument) {
+        String id = documentKey != null ? idOf(documentKey.get("_id")) : null;
+        switch (operation) {
+            case INSERT, UPDATE, REPLACE -> {
+                if (id == null) {
+                    return;
+                }
+                switch (collection) {
+                    case "songs" -> {
+                        // Null when the song was deleted before the lookup; the delete follows
+                        if (fullDocument != null) {
+                            Song song = mongoTemplate.getConverter().read(Song.class, fullDocument);
+                            eventPublisher.publishEvent(SongChangedEvent.saved(this, song));
+                        }
+                    }
+                    case "users" -> eventPublisher.publishEvent(new UserChangedEvent(this, UserChangedEvent.Type.SAVED, id));
+                    case "playlists" -> eventPublisher.publishEvent(new PlaylistChangedEvent(this, PlaylistChangedEvent.Type.SAVED, id));
+                    default -> logger.debug("Ignoring change on {}", collection);
+                }
+            }
+            case DELETE -> {
+                if (id == null) {
+                    return;
+                }
+                switch (collection) {
+                    case "songs" -> eventPublisher.publishEvent(SongChangedEvent.deleted(this, id));
+                    case "users" -> eventPublisher.publishEvent(new UserChangedEvent(this, UserChangedEvent.Type.DELETED, id));
+                    case "playlists" -> eventPublisher.publishEvent(new PlaylistChangedEvent(this, PlaylistChangedEvent.Type.DELETED, id));
+                    default -> logger.debug("Ignoring change on {}", collection);
+                }
+            }
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> {
+                switch (collection) {
+                    case "songs" -> eventPublisher.publishEvent(SongChangedEvent.cleared(this));
+                    case "users" -> eventPublisher.publishEvent(new UserChangedEvent(this, UserChangedEvent.Type.CLEARED, null));
+                    case "playlists" -> eventPublisher.publishEvent(new PlaylistChangedEvent(this, PlaylistChangedEvent.Type.CLEARED, null));
+                    default -> logger.debug("Ignoring change on {}", collection);
+                }
+            }
+            default -> logger.debug("Ignoring {} on {}", operation, collection);
+        }
+    }
+
+    private static String idOf(BsonValue id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    private BsonDocument loadResumeToken(String collection) {
+        BsonDocument pending = pendingTokens.get(collection);
+        if (pending != null) {
+            return pending;
+        }
+        try {
+            Document stored = mongoTemplate.findById(collection, Document.class, RESUME_TOKENS_COLLECTION);
+            return stored != null && stored.getString("token") != null
+                    ? new BsonDocument("_data", new BsonString(stored.getString("token")))
+                    : null;
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Could not read change stream resume token for {}: {}", collection, e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveResumeToken(String collection, BsonDocument token) {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(collection)),
+                new Update().set("token", token.getString("_data").getValue()).set("updatedAt", LocalDateTime.now()),
+                RESUME_TOKENS_COLLECTION);
+    }
+
+    private void forgetResumeToken(String collection) {
+        pendingTokens.remove(collection);
+        try {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(collection)), RESUME_TOKENS_COLLECTION);
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Could not remove change stream resume token for {}: {}", collection, e.getMessage());
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(retryDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
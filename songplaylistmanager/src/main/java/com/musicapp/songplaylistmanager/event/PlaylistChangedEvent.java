@@ -0,0 +1,36 @@
+package com.musicapp.songplaylistmanager.event;
+
+import org.springframework.context.ApplicationEvent;
+
+// Published when the playlists collection changed outside this instance (see MongoChangeStreamListener),
+// so state derived from playlists can be refreshed.
+public class PlaylistChangedEvent extends ApplicationEvent {
+
+    public enum Type {
+        SAVED,    // playlist inserted, updated or replaced
+        DELETED,  // playlist removed
+        CLEARED   // collection dropped or history lost, every cached entry is suspect
+    }
+
+    private final Type type;
+    private final String playlistId;
+
+    public PlaylistChangedEvent(Object source, Type type, String playlistId) {
+        super(source);
+        this.type = type;
+        this.playlistId = playlistId;
+    }
+
+    public Type getType() { return type; }
+
+    // Null for CLEARED
+    public String getPlaylistId() { return playlistId; }
+
+    @Override
+    public String toString() {
+        return "PlaylistChangedEvent{" +
+                "type=" + type +
+                ", playlistId='" + playlistId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package com.musicapp.songplaylistmanager.event;
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+// Keeps the normalized playlist name key current on every write
+@Component
+public class PlaylistPersistenceListener extends AbstractMongoEventListener<Playlist> {
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Playlist> event) {
+        event.getSource().refreshKeys();
+    }
+}
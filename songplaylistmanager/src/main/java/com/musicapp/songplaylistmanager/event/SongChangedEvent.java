@@ -0,0 +1,52 @@
+package com.musicapp.songplaylistmanager.event;
+
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import org.springframework.context.ApplicationEvent;
+
+// Published whenever a song document is written or removed,
+// so in-memory indexes can keep themselves in sync.
+public class SongChangedEvent extends ApplicationEvent {
+
+    public enum Type {
+        SAVED,    // song inserted or replaced, song holds the new state
+        DELETED,  // single song removed, only songId is set
+        CLEARED   // bulk delete, indexes should be rebuilt
+    }
+
+    private final Type type;
+    private final String songId;
+    private final Song song;
+
+    public SongChangedEvent(Object source, Type type, String songId, Song song) {
+        super(source);
+        this.type = type;
+        this.songId = songId;
+        this.song = song;
+    }
+
+    public static SongChangedEvent saved(Object source, Song song) {
+        return new SongChangedEvent(source, Type.SAVED, song.getId(), song);
+    }
+
+    public static SongChangedEvent deleted(Object source, String songId) {
+        return new SongChangedEvent(source, Type.DELETED, songId, null);
+    }
+
+    public static SongChangedEvent cleared(Object source) {
+        return new SongChangedEvent(source, Type.CLEARED, null, null);
+    }
+
+    public Type getType() { return type; }
+
+    public String getSongId() { return songId; }
+
+    public Song getSong() { return song; }
+
+    @Override
+    public String toString() {
+        return "SongChangedEvent{" +
+                "type=" + type +
+                ", songId='" + songId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,33 @@
+package com.musicapp.songplaylistmanager.event;
+
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import org.springframework.context.ApplicationEvent;
+
+// Published after a like or unlike has been applied to a song.
+// The like count is moved with an atomic $inc, which raises no mapping events,
+// so listeners that order songs by likes rely on this instead of SongChangedEvent.
+// Events for one song can arrive out of order; Song.likeVersion tells listeners which is newer.
+public class SongLikeChangedEvent extends ApplicationEvent {
+
+    private final Song song;
+    private final boolean liked;
+
+    public SongLikeChangedEvent(Object source, Song song, boolean liked) {
+        super(source);
+        this.song = song;
+        this.liked = liked;
+    }
+
+    // Song state after the update, including the new likeCount
+    public Song getSong() { return song; }
+
+    public boolean isLiked() { return liked; }
+
+    @Override
+    public String toString() {
+        return "SongLikeChangedEvent{" +
+                "songId='" + song.getId() + '\'' +
+                ", liked=" + liked +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+package com.musicapp.songplaylistmanager.event;
+
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Turns Spring Data lifecycle events for songs into SongChangedEvents.
+// Covers repository saves/deletes from services and from DataLoader alike.
+@Component
+public class SongPersistenceListener extends AbstractMongoEventListener<Song> {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // The setters keep the normalized keys current; this catches entities built some other way
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Song> event) {
+        event.getSource().refreshKeys();
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Song> event) {
+        eventPublisher.publishEvent(SongChangedEvent.saved(this, event.getSource()));
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Song> event) {
+        Document query = event.getSource();
+        Object id = query.get("_id");
+
+        if (id instanceof Document operators && operators.get("$in") instanceof Collection<?> ids) {
+            for (Object each : ids) {
+                eventPublisher.publishEvent(SongChangedEvent.deleted(this, each.toString()));
+            }
+        } else if (id != null && !(id instanceof Document)) {
+            eventPublisher.publishEvent(SongChangedEvent.deleted(this, id.toString()));
+        } else {
+            eventPublisher.publishEvent(SongChangedEvent.cleared(this));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.musicapp.songplaylistmanager.event;
+
+import org.springframework.context.ApplicationEvent;
+
+// Published when the users collection changed outside this instance (see MongoChangeStreamListener),
+// so per-user caches such as the role cache can drop their entries.
+public class UserChangedEvent extends ApplicationEvent {
+
+    public enum Type {
+        SAVED,    // user inserted, updated or replaced
+        DELETED,  // user removed
+        CLEARED   // collection dropped or history lost, every cached entry is suspect
+    }
+
+    private final Type type;
+    private final String userId;
+
+    public UserChangedEvent(Object source, Type type, String userId) {
+        super(source);
+        this.type = type;
+        this.userId = userId;
+    }
+
+    public Type getType() { return type; }
+
+    // Null for CLEARED
+    public String getUserId() { return userId; }
+
+    @Override
+    public String toString() {
+        return "UserChangedEvent{" +
+                "type=" + type +
+                ", userId='" + userId + '\'' +
+                '}';
+    }
+}
@@ -1,84 +1,93 @@
-//package com.musicapp.songplaylistmanager.exception;
-//
-//
-//
-//import org.slf4j.Logger;
-//import org.slf4j.LoggerFactory;
-//import org.springframework.http.HttpStatus;
-//import org.springframework.http.ResponseEntity;
-//import org.springframework.validation.FieldError;
-//import org.springframework.web.bind.MethodArgumentNotValidException;
-//import org.springframework.web.bind.annotation.ControllerAdvice;
-//import org.springframework.web.bind.annotation.ExceptionHandler;
-//import org.springframework.web.context.request.WebRequest;
-//
-//import java.time.LocalDateTime;
-//import java.util.HashMap;
-//import java.util.Map;
-//
-//@ControllerAdvice
-//public class GlobalExceptionHandler {
-//
-//    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
-//
-//    // Handle validation errors
-//    @ExceptionHandler(MethodArgumentNotValidException.class)
-//    public ResponseEntity<Map<String, Object>> handleValidationErrors(
-//            MethodArgumentNotValidException ex, WebRequest request) {
-//
-//        logger.error("❌ Validation error occurred: {}", ex.getMessage());
-//
-//        Map<String, String> errors = new HashMap<>();
-//        ex.getBindingResult().getAllErrors().forEach((error) -> {
-//            String fieldName = ((FieldError) error).getField();
-//            String errorMessage = error.getDefaultMessage();
-//            errors.put(fieldName, errorMessage);
-//            logger.error("   - Field '{}': {}", fieldName, errorMessage);
-//        });
-//
-//        Map<String, Object> response = new HashMap<>();
-//        response.put("timestamp", LocalDateTime.now());
-//        response.put("status", HttpStatus.BAD_REQUEST.value());
-//        response.put("error", "Validation Failed");
-//        response.put("message", "Input validation failed");
-//        response.put("errors", errors);
-//        response.put("path", request.getDescription(false));
-//
-//        return ResponseEntity.badRequest().body(response);
-//    }
-//
-//    // Handle runtime exceptions
-//    @ExceptionHandler(RuntimeException.class)
-//    public ResponseEntity<Map<String, Object>> handleRuntimeException(
-//            RuntimeException ex, WebRequest request) {
-//
-//        logger.error("❌ Runtime error occurred: {}", ex.getMessage());
-//
-//        Map<String, Object> response = new HashMap<>();
-//        response.put("timestamp", LocalDateTime.now());
-//        response.put("status", HttpStatus.BAD_REQUEST.value());
-//        response.put("error", "Runtime Error");
-//        response.put("message", ex.getMessage());
-//        response.put("path", request.getDescription(false));
-//
-//        return ResponseEntity.badRequest().body(response);
-//    }
-//
-//    // Handle generic exceptions
-//    @ExceptionHandler(Exception.class)
-//    public ResponseEntity<Map<String, Object>> handleGlobalException(
-//            Exception ex, WebRequest request) {
-//
-//        logger.error("❌ Unexpected error occurred: {}", ex.getMessage(), ex);
-//
-//        Map<String, Object> response = new HashMap<>();
-//        response.put("timestamp", LocalDateTime.now());
-//        response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-//        response.put("error", "Internal Server Error");
-//        response.put("message", "An unexpected error occurred");
-//        response.put("path", request.getDescription(false));
-//
-//        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-//    }
-//}
+package com.musicapp.songplaylistmanager.exception;
 
+
+import com.musicapp.songplaylistmanager.dto.ErrorResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.List;
+import java.util.Locale;
+
+// Maps exceptions from the REST controllers to ErrorResponse bodies.
+// Services signal failures with RuntimeException messages, so the HTTP status
+// is derived from the message the same way the controllers used to do it inline.
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    // Handle validation errors
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleValidationErrors(
+            MethodArgumentNotValidException ex, HttpServletRequest request) {
+
+        logger.error("❌ Validation error occurred: {}", ex.getMessage());
+
+        List<ErrorResponse.FieldViolation> errors = ex.getBindingResult().getFieldErrors().stream()
+                .map(GlobalExceptionHandler::toViolation)
+                .toList();
+
+        return ResponseEntity.badRequest().body(new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(), "Validation Failed", "Input validation failed",
+                request.getRequestURI(), errors));
+    }
+
+    // Handle runtime exceptions thrown by the services
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<ErrorResponse> handleRuntimeException(
+            RuntimeException ex, HttpServletRequest request) {
+
+        logger.error("❌ Runtime error occurred: {}", ex.getMessage());
+
+        HttpStatus status = statusFor(ex.getMessage());
+        return ResponseEntity.status(status).body(new ErrorResponse(
+                status.value(), status.getReasonPhrase(), ex.getMessage(), request.getRequestURI()));
+    }
+
+    // Handle generic exceptions
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGlobalException(
+            Exception ex, HttpServletRequest request) {
+
+        logger.error("❌ Unexpected error occurred: {}", ex.getMessage(), ex);
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal Server Error",
+                "An unexpected error occurred", request.getRequestURI()));
+    }
+
+    // "... not found" -> 404, "Only admins ..." / "You can only ..." -> 403,
+    // "... changed concurrently, please try again" -> 409, "... is unavailable ..." -> 503,
+    // anything else -> 400
+    static HttpStatus statusFor(String message) {
+        if (message == null) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        String lower = message.toLowerCase(Locale.ROOT);
+        if (lower.contains("not found")) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (lower.startsWith("only ") || lower.contains("can only")) {
+            return HttpStatus.FORBIDDEN;
+        }
+        if (lower.contains("concurrently")) {
+            return HttpStatus.CONFLICT;
+        }
+        if (lower.contains("unavailable")) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return HttpStatus.BAD_REQUEST;
+    }
+
+    private static ErrorResponse.FieldViolation toViolation(FieldError error) {
+        logger.error("   - Field '{}': {}", error.getField(), error.getDefaultMessage());
+        return new ErrorResponse.FieldViolation(error.getField(), error.getDefaultMessage());
+    }
+}
@@ -0,0 +1,23 @@
+package com.musicapp.songplaylistmanager.export;
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.User;
+
+// Collections that can be exported and restored
+public enum DataSet {
+
+    SONGS(Song.class),
+    USERS(User.class),
+    PLAYLISTS(Playlist.class);
+
+    private final Class<?> entityType;
+
+    DataSet(Class<?> entityType) {
+        this.entityType = entityType;
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+}
@@ -0,0 +1,87 @@
+package com.musicapp.songplaylistmanager.export;
+
+import org.bson.RawBsonDocument;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+// Reads back files written by DocumentFileWriter, one document at a time
+public class DocumentFileReader implements Closeable {
+
+    // Largest document MongoDB accepts (16 MiB) plus headroom for the length prefix
+    private static final int MAX_DOCUMENT_SIZE = 16 * 1024 * 1024 + 16 * 1024;
+
+    private final ExportFormat format;
+    private final DataInputStream bsonIn;
+    private final BufferedReader jsonIn;
+
+    public DocumentFileReader(InputStream source, ExportFormat format, boolean gzip) throws IOException {
+        InputStream in = gzip
+                ? new GZIPInputStream(source, DocumentFileWriter.BUFFER_SIZE)
+                : new BufferedInputStream(source, DocumentFileWriter.BUFFER_SIZE);
+        this.format = format;
+        if (format == ExportFormat.BSON) {
+            this.bsonIn = new DataInputStream(in instanceof BufferedInputStream ? in
+                    : new BufferedInputStream(in, DocumentFileWriter.BUFFER_SIZE));
+            this.jsonIn = null;
+        } else {
+            this.bsonIn = null;
+            this.jsonIn = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), DocumentFileWriter.BUFFER_SIZE);
+        }
+    }
+
+    // Next document, or null at the end of the file
+    public RawBsonDocument next() throws IOException {
+        return format == ExportFormat.BSON ? nextBson() : nextJson();
+    }
+
+    private RawBsonDocument nextBson() throws IOException {
+        int b0 = bsonIn.read();
+        if (b0 < 0) {
+            return null;
+        }
+        byte[] prefix = new byte[4];
+        prefix[0] = (byte) b0;
+        bsonIn.readFully(prefix, 1, 3);
+        int length = (prefix[0] & 0xff) | (prefix[1] & 0xff) << 8 | (prefix[2] & 0xff) << 16 | (prefix[3] & 0xff) << 24;
+        if (length < 5 || length > MAX_DOCUMENT_SIZE) {
+            throw new IOException("Corrupt BSON export: document length " + length);
+        }
+
+        byte[] document = new byte[length];
+        System.arraycopy(prefix, 0, document, 0, 4);
+        try {
+            bsonIn.readFully(document, 4, length - 4);
+        } catch (EOFException e) {
+            throw new IOException("Truncated BSON export", e);
+        }
+        return new RawBsonDocument(document);
+    }
+
+    private RawBsonDocument nextJson() throws IOException {
+        String line;
+        while ((line = jsonIn.readLine()) != null) {
+            if (!line.isBlank()) {
+                return RawBsonDocument.parse(line);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (bsonIn != null) {
+            bsonIn.close();
+        } else {
+            jsonIn.close();
+        }
+    }
+}
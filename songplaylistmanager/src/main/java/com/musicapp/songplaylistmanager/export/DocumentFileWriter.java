@@ -0,0 +1,73 @@
+package com.musicapp.songplaylistmanager.export;
+
+import org.bson.RawBsonDocument;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+// Writes raw BSON documents to a stream in one of the ExportFormats.
+// Documents are copied from the driver's byte buffers without decoding them into
+// maps, and all output goes through one fixed-size buffer.
+public class DocumentFileWriter implements Closeable {
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private final OutputStream out;
+    private final ExportFormat format;
+    private long documents;
+    private long bytes;
+
+    public DocumentFileWriter(OutputStream target, ExportFormat format, boolean gzip) throws IOException {
+        this.out = gzip
+                ? new GZIPOutputStream(target, BUFFER_SIZE)
+                : new BufferedOutputStream(target, BUFFER_SIZE);
+        this.format = format;
+    }
+
+    public void write(RawBsonDocument document) throws IOException {
+        if (format == ExportFormat.BSON) {
+            // The BSON encoding already starts with its little-endian int32 length
+            ByteBuffer buffer = document.getByteBuffer().asNIO();
+            int length = buffer.remaining();
+            if (buffer.hasArray()) {
+                out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            } else {
+                byte[] copy = new byte[length];
+                buffer.get(copy);
+                out.write(copy);
+            }
+            bytes += length;
+        } else {
+            byte[] line = document.toJson(JSON_SETTINGS).getBytes(StandardCharsets.UTF_8);
+            out.write(line);
+            out.write('\n');
+            bytes += line.length + 1;
+        }
+        documents++;
+    }
+
+    public long getDocuments() {
+        return documents;
+    }
+
+    // Uncompressed bytes written so far
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,41 @@
+package com.musicapp.songplaylistmanager.export;
+
+import java.util.Locale;
+
+// On-disk layouts for collection exports
+public enum ExportFormat {
+
+    // One MongoDB Extended JSON (canonical) document per line, readable and type-preserving
+    JSONL(".jsonl"),
+
+    // Concatenated raw BSON documents, each prefixed by its own int32 length (same layout as mongodump)
+    BSON(".bson");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // Pick the format from a file name such as songs.bson or songs.jsonl.gz
+    public static ExportFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".gz")) {
+            lower = lower.substring(0, lower.length() - 3);
+        }
+        for (ExportFormat format : values()) {
+            if (lower.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        throw new RuntimeException("Unsupported export file type: " + fileName + " (expected .jsonl or .bson, optionally .gz)");
+    }
+
+    public static boolean isGzipped(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".gz");
+    }
+}
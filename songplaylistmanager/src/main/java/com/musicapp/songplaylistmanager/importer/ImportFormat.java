@@ -0,0 +1,25 @@
+package com.musicapp.songplaylistmanager.importer;
+
+import java.util.Locale;
+
+// File formats accepted by the song import
+public enum ImportFormat {
+
+    // Header row naming the columns (title, artist, album, genre, duration, likeCount), then one song per line
+    CSV,
+
+    // One JSON song object per line
+    JSONL;
+
+    // Pick the format from a file name extension
+    public static ImportFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) {
+            return JSONL;
+        }
+        throw new RuntimeException("Unsupported import file type: " + fileName + " (expected .csv or .jsonl)");
+    }
+}
@@ -0,0 +1,157 @@
+package com.musicapp.songplaylistmanager.importer;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Reads songs one line at a time from a CSV or JSONL source, so a file of any
+// size is imported with constant memory. Blank lines are skipped. CSV fields may
+// be quoted ("a, b" and "say ""hi""") but must not span lines.
+public class SongFileReader implements Closeable {
+
+    private static final List<String> CSV_COLUMNS = List.of("title", "artist", "album", "genre", "duration", "likecount");
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectReader jsonReader;
+    private Map<String, Integer> csvColumns;
+    private long lineNumber;
+
+    public SongFileReader(Reader source, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source, 1 << 16);
+        this.format = format;
+        this.jsonReader = objectMapper.readerFor(Song.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    // Next row, or null at the end of the input. Unparseable rows come back with an error instead of a song.
+    public Row next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ImportFormat.CSV && csvColumns == null) {
+                csvColumns = readHeader(line);
+                continue;
+            }
+            try {
+                return new Row(lineNumber, format == ImportFormat.CSV ? parseCsv(line) : parseJson(line), null);
+            } catch (Exception e) {
+                return new Row(lineNumber, null, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, Integer> readHeader(String line) {
+        List<String> names = splitCsv(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().toLowerCase(Locale.ROOT);
+            if (CSV_COLUMNS.contains(name)) {
+                columns.put(name, i);
+            }
+        }
+        if (!columns.containsKey("title") || !columns.containsKey("artist")) {
+            throw new RuntimeException("CSV header must name at least the title and artist columns");
+        }
+        return columns;
+    }
+
+    private Song parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        Song song = new Song();
+        song.setTitle(column(values, "title"));
+        song.setArtist(column(values, "artist"));
+        song.setAlbum(column(values, "album"));
+        song.setGenre(column(values, "genre"));
+        String duration = column(values, "duration");
+        if (duration != null) {
+            song.setDuration(parseInt(duration, "duration"));
+        }
+        String likeCount = column(values, "likecount");
+        if (likeCount != null) {
+            song.setLikeCount(parseInt(likeCount, "likeCount"));
+        }
+        return song;
+    }
+
+    private Song parseJson(String line) throws IOException {
+        Song song = jsonReader.readValue(line);
+        if (song.getLikeCount() == null) {
+            song.setLikeCount(0);
+        }
+        return song;
+    }
+
+    private String column(List<String> values, String name) {
+        Integer index = csvColumns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int parseInt(String value, String field) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid " + field + ": " + value);
+        }
+    }
+
+    // Split one CSV line on commas, honouring double-quoted fields
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new RuntimeException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // One input line: either a parsed song or the reason it could not be parsed
+    public record Row(long lineNumber, Song song, String error) {
+    }
+}
@@ -0,0 +1,234 @@
+package com.musicapp.songplaylistmanager.leaderboard;
+
+import com.musicapp.songplaylistmanager.dto.SongRank;
+import com.musicapp.songplaylistmanager.event.SongChangedEvent;
+import com.musicapp.songplaylistmanager.event.SongLikeChangedEvent;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory most-liked leaderboard, overall and per genre.
+// Loaded from MongoDB on startup, then kept current by song save/delete and like events,
+// so top-N and rank reads never touch the database.
+@Component
+public class SongLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(SongLeaderboard.class);
+
+    // Most likes first, ties broken by ID so the order is stable
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::likeCount).reversed()
+            .thenComparing(Entry::songId);
+
+    record Entry(String songId, int likeCount, String genreKey, long likeVersion) {
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final NavigableSet<Entry> overall = new TreeSet<>(ORDER);
+
+    // genreKey -> that genre's leaderboard
+    private final Map<String, NavigableSet<Entry>> byGenre = new HashMap<>();
+
+    // songId -> its current entry, used to find the old position on update
+    private final Map<String, Entry> entriesBySong = new HashMap<>();
+
+    // likeCount -> songs with that many likes, most likes first; ranks sum over distinct counts, not songs
+    private final NavigableMap<Integer, Integer> songsByLikeCount = new TreeMap<>(Comparator.reverseOrder());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready = false;
+
+    // Load every song's like count once the context is up
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuild() {
+        logger.info("🏆 Building song leaderboard...");
+        Query query = new Query();
+        query.fields().include("likeCount", "likeVersion", "genre");
+
+        lock.writeLock().lock();
+        try {
+            clearUnlocked();
+            try (Stream<Song> songs = mongoTemplate.stream(query, Song.class)) {
+                songs.forEach(this::updateUnlocked);
+            }
+            ready = true;
+            logger.info("✅ Leaderboard ready: {} songs, {} genres", entriesBySong.size(), byGenre.size());
+        } catch (RuntimeException e) {
+            ready = false;
+            logger.error("❌ Failed to build leaderboard: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onSongChanged(SongChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> update(event.getSong());
+            case DELETED -> remove(event.getSongId());
+            case CLEARED -> rebuild();
+        }
+    }
+
+    @EventListener
+    public void onSongLikeChanged(SongLikeChangedEvent event) {
+        update(event.getSong());
+    }
+
+    public void update(Song song) {
+        lock.writeLock().lock();
+        try {
+            updateUnlocked(song);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String songId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(songId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // IDs of the most liked songs, most likes first
+    public List<String> topSongIds(int limit) {
+        lock.readLock().lock();
+        try {
+            return firstIds(overall, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // IDs of the most liked songs in one genre (case and accents ignored)
+    public List<String> topSongIds(String genre, int limit) {
+        String genreKey = TextNormalizer.normalize(genre);
+        lock.readLock().lock();
+        try {
+            NavigableSet<Entry> genreBoard = byGenre.get(genreKey);
+            return genreBoard == null ? List.of() : firstIds(genreBoard, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rank of one song across all songs, empty if the song is not on the leaderboard
+    public Optional<SongRank> rankOf(String songId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entriesBySong.get(songId);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            int ahead = 0;
+            for (int count : songsByLikeCount.headMap(entry.likeCount(), false).values()) {
+                ahead += count;
+            }
+            return Optional.of(new SongRank(songId, ahead + 1, entry.likeCount(), entriesBySong.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entriesBySong.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void updateUnlocked(Song song) {
+        if (song == null || song.getId() == null) {
+            return;
+        }
+        int likeCount = song.getLikeCount() != null ? song.getLikeCount() : 0;
+        long likeVersion = song.getLikeVersion();
+        Entry previous = entriesBySong.get(song.getId());
+        if (previous != null && likeVersion < previous.likeVersion()) {
+            // Older like state than the one already applied (the event arrived late): keep the count
+            likeCount = previous.likeCount();
+            likeVersion = previous.likeVersion();
+        }
+        removeUnlocked(song.getId());
+
+        Entry entry = new Entry(song.getId(), likeCount, TextNormalizer.normalize(song.getGenre()), likeVersion);
+        entriesBySong.put(entry.songId(), entry);
+        overall.add(entry);
+        if (entry.genreKey() != null) {
+            byGenre.computeIfAbsent(entry.genreKey(), key -> new TreeSet<>(ORDER)).add(entry);
+        }
+        songsByLikeCount.merge(likeCount, 1, Integer::sum);
+    }
+
+    private void removeUnlocked(String songId) {
+        Entry entry = entriesBySong.remove(songId);
+        if (entry == null) {
+            return;
+        }
+        overall.remove(entry);
+        if (entry.genreKey() != null) {
+            NavigableSet<Entry> genreBoard = byGenre.get(entry.genreKey());
+            if (genreBoard != null) {
+                genreBoard.remove(entry);
+                if (genreBoard.isEmpty()) {
+                    byGenre.remove(entry.genreKey());
+                }
+            }
+        }
+        songsByLikeCount.computeIfPresent(entry.likeCount(), (likes, count) -> count == 1 ? null : count - 1);
+    }
+
+    private void clearUnlocked() {
+        overall.clear();
+        byGenre.clear();
+        entriesBySong.clear();
+        songsByLikeCount.clear();
+    }
+
+    private static List<String> firstIds(NavigableSet<Entry> board, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<String> ids = new ArrayList<>(Math.min(limit, board.size()));
+        for (Entry entry : board) {
+            if (ids.size() == limit) {
+                break;
+            }
+            ids.add(entry.songId());
+        }
+        return ids;
+    }
+}
@@ -2,12 +2,21 @@ package com.musicapp.songplaylistmanager.model.Song;
 
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Document(collection = "playlists")
 public class Playlist {
@@ -19,13 +28,31 @@ public class Playlist {
     @Size(min = 1, max = 50, message = "Playlist name must be between 1 and 50 characters")
     private String name;
 
+    // Case/accent-folded copy of name (see TextNormalizer) for index-backed name lookups
+    @Indexed(name = "nameKey")
+    private String nameKey;
+
     @Size(max = 200, message = "Description must not exceed 200 characters")
     private String description;
 
     @NotBlank(message = "User ID is required")
+    @Indexed(name = "userId")
     private String userId; // Reference to User
 
-    private List<String> songIds; // References to Songs
+    @Indexed(name = "songIds") // multikey: one entry per song, for "playlists containing song" lookups
+    private List<String> songIds; // References to Songs (persisted, keeps playlist order)
+
+    @Transient
+    private Set<String> songIdIndex; // Hash index over songIds for O(1) membership, built lazily
+
+    // Title/artist/duration per song, in songIds order, so a playlist view is one document read.
+    // Missing or out of step on playlists written before it existed (see hasTrackSummaries).
+    // Built from the songs on the server, never taken from a request body.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private List<TrackSummary> tracks;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int totalDuration; // in seconds, sum of the track durations
 
     private LocalDateTime createdDate;
 
@@ -36,11 +63,13 @@ public class Playlist {
         this.createdDate = LocalDateTime.now();
         this.updatedDate = LocalDateTime.now();
         this.songIds = new ArrayList<>();
+        this.tracks = new ArrayList<>();
     }
 
     public Playlist(String name, String description, String userId) {
         this();
         this.name = name;
+        this.nameKey = TextNormalizer.normalize(name);
         this.description = description;
         this.userId = userId;
     }
@@ -52,9 +81,18 @@ public class Playlist {
     public String getName() { return name; }
     public void setName(String name) {
         this.name = name;
+        this.nameKey = TextNormalizer.normalize(name);
         this.updatedDate = LocalDateTime.now();
     }
 
+    @JsonIgnore
+    public String getNameKey() { return nameKey; }
+
+    // Recompute the normalized key, e.g. for documents written before the key existed
+    public void refreshKeys() {
+        this.nameKey = TextNormalizer.normalize(name);
+    }
+
     public String getDescription() { return description; }
     public void setDescription(String description) {
         this.description = description;
@@ -64,12 +102,38 @@ public class Playlist {
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
 
-    public List<String> getSongIds() { return songIds; }
+    // Read-only view; use addSong/removeSong so the membership index stays in sync
+    public List<String> getSongIds() { return Collections.unmodifiableList(songIds); }
     public void setSongIds(List<String> songIds) {
-        this.songIds = songIds;
+        this.songIds = songIds != null ? new ArrayList<>(new LinkedHashSet<>(songIds)) : new ArrayList<>();
+        this.songIdIndex = null;
         this.updatedDate = LocalDateTime.now();
     }
 
+    // Read-only view; empty when the playlist has no summaries yet
+    public List<TrackSummary> getTracks() {
+        return tracks != null ? Collections.unmodifiableList(tracks) : Collections.emptyList();
+    }
+    public void setTracks(List<TrackSummary> tracks) {
+        this.tracks = tracks != null ? new ArrayList<>(tracks) : new ArrayList<>();
+        this.totalDuration = sumDurations(this.tracks);
+    }
+
+    public int getTotalDuration() { return totalDuration; }
+
+    // True when there is one summary per song, in order, so readers can skip the song lookup
+    public boolean hasTrackSummaries() {
+        if (tracks == null || tracks.size() != songIds.size()) {
+            return false;
+        }
+        for (int i = 0; i < tracks.size(); i++) {
+            if (!songIds.get(i).equals(tracks.get(i).getSongId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public LocalDateTime getCreatedDate() { return createdDate; }
     public void setCreatedDate(LocalDateTime createdDate) { this.createdDate = createdDate; }
 
@@ -77,21 +141,59 @@ public class Playlist {
     public void setUpdatedDate(LocalDateTime updatedDate) { this.updatedDate = updatedDate; }
 
     // Utility methods
+    // Adds the song together with its summary
+    public void addSong(Song song) {
+        if (songIdIndex().add(song.getId())) {
+            songIds.add(song.getId());
+            tracks().add(TrackSummary.of(song));
+            this.totalDuration += song.getDuration() != null ? song.getDuration() : 0;
+            this.updatedDate = LocalDateTime.now();
+        }
+    }
+
+    // Adds only the ID; summaries stay incomplete until the playlist is read through PlaylistService
     public void addSong(String songId) {
-        if (!songIds.contains(songId)) {
+        if (songIdIndex().add(songId)) {
             songIds.add(songId);
             this.updatedDate = LocalDateTime.now();
         }
     }
 
     public void removeSong(String songId) {
-        if (songIds.remove(songId)) {
+        if (songIdIndex().remove(songId)) {
+            songIds.remove(songId);
+            if (tracks().removeIf(track -> songId.equals(track.getSongId()))) {
+                this.totalDuration = sumDurations(tracks);
+            }
             this.updatedDate = LocalDateTime.now();
         }
     }
 
     public boolean containsSong(String songId) {
-        return songIds.contains(songId);
+        return songIdIndex().contains(songId);
+    }
+
+    // Built on first use because Spring Data populates songIds directly through the field
+    private Set<String> songIdIndex() {
+        if (songIdIndex == null) {
+            songIdIndex = new HashSet<>(songIds);
+        }
+        return songIdIndex;
+    }
+
+    private List<TrackSummary> tracks() {
+        if (tracks == null) {
+            tracks = new ArrayList<>();
+        }
+        return tracks;
+    }
+
+    private static int sumDurations(List<TrackSummary> tracks) {
+        int total = 0;
+        for (TrackSummary track : tracks) {
+            total += track.getDuration() != null ? track.getDuration() : 0;
+        }
+        return total;
     }
 
     public int getSongCount() {
@@ -105,6 +207,7 @@ public class Playlist {
                 ", name='" + name + '\'' +
                 ", userId='" + userId + '\'' +
                 ", songCount=" + songIds.size() +
+                ", totalDuration=" + totalDuration +
                 ", createdDate=" + createdDate +
                 '}';
     }
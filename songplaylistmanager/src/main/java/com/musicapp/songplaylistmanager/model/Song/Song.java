@@ -1,12 +1,19 @@
 package com.musicapp.songplaylistmanager.model.Song;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
 
 @Document(collection = "songs")
+// Genre browsing, optionally ordered by likes within the genre
+@CompoundIndex(name = "genreKey_likeCount", def = "{'genreKey': 1, 'likeCount': -1}")
 public class Song {
 
     @Id
@@ -26,15 +33,31 @@ public class Song {
     @Size(max = 30, message = "Genre must not exceed 30 characters")
     private String genre;
 
+    // Case/accent-folded copies of artist, album and genre (see TextNormalizer), kept in step
+    // by the setters so lookups are plain index seeks instead of case-insensitive regexes
+    @Indexed(name = "artistKey")
+    private String artistKey;
+
+    @Indexed(name = "albumKey")
+    private String albumKey;
+
+    private String genreKey;
+
     @Min(value = 1, message = "Duration must be at least 1 second")
     @Max(value = 3600, message = "Duration cannot exceed 1 hour")
+    @Indexed(name = "duration")
     private Integer duration; // in seconds
 
     private LocalDateTime createdDate;
 
     @Min(value = 0, message = "Like count cannot be negative")
+    @Indexed(name = "likeCount", direction = IndexDirection.DESCENDING)
     private Integer likeCount;
 
+    // Bumped in the same update as every like/unlike, so listeners can tell which of two
+    // like events is newer and ignore one that arrives late
+    private long likeVersion;
+
     // Constructors
     public Song() {
         this.createdDate = LocalDateTime.now();
@@ -44,9 +67,9 @@ public class Song {
     public Song(String title, String artist, String album, String genre, Integer duration) {
         this();
         this.title = title;
-        this.artist = artist;
-        this.album = album;
-        this.genre = genre;
+        setArtist(artist);
+        setAlbum(album);
+        setGenre(genre);
         this.duration = duration;
     }
 
@@ -58,13 +81,38 @@ public class Song {
     public void setTitle(String title) { this.title = title; }
 
     public String getArtist() { return artist; }
-    public void setArtist(String artist) { this.artist = artist; }
+    public void setArtist(String artist) {
+        this.artist = artist;
+        this.artistKey = TextNormalizer.normalize(artist);
+    }
 
     public String getAlbum() { return album; }
-    public void setAlbum(String album) { this.album = album; }
+    public void setAlbum(String album) {
+        this.album = album;
+        this.albumKey = TextNormalizer.normalize(album);
+    }
 
     public String getGenre() { return genre; }
-    public void setGenre(String genre) { this.genre = genre; }
+    public void setGenre(String genre) {
+        this.genre = genre;
+        this.genreKey = TextNormalizer.normalize(genre);
+    }
+
+    @JsonIgnore
+    public String getArtistKey() { return artistKey; }
+
+    @JsonIgnore
+    public String getAlbumKey() { return albumKey; }
+
+    @JsonIgnore
+    public String getGenreKey() { return genreKey; }
+
+    // Recompute the normalized keys, e.g. for documents written before the keys existed
+    public void refreshKeys() {
+        this.artistKey = TextNormalizer.normalize(artist);
+        this.albumKey = TextNormalizer.normalize(album);
+        this.genreKey = TextNormalizer.normalize(genre);
+    }
 
     public Integer getDuration() { return duration; }
     public void setDuration(Integer duration) { this.duration = duration; }
@@ -75,6 +123,10 @@ public class Song {
     public Integer getLikeCount() { return likeCount; }
     public void setLikeCount(Integer likeCount) { this.likeCount = likeCount; }
 
+    @JsonIgnore
+    public long getLikeVersion() { return likeVersion; }
+    public void setLikeVersion(long likeVersion) { this.likeVersion = likeVersion; }
+
     // Utility methods
     public void incrementLikeCount() {
         this.likeCount++;
@@ -0,0 +1,47 @@
+package com.musicapp.songplaylistmanager.model.Song;
+
+// Copy of the song fields a playlist view shows, embedded in Playlist.tracks so a playlist
+// can be displayed from its own document. Refreshed in the background when the song changes.
+public class TrackSummary {
+
+    private String songId;
+    private String title;
+    private String artist;
+    private Integer duration; // in seconds
+
+    public TrackSummary() {
+    }
+
+    public TrackSummary(String songId, String title, String artist, Integer duration) {
+        this.songId = songId;
+        this.title = title;
+        this.artist = artist;
+        this.duration = duration;
+    }
+
+    public static TrackSummary of(Song song) {
+        return new TrackSummary(song.getId(), song.getTitle(), song.getArtist(), song.getDuration());
+    }
+
+    public String getSongId() { return songId; }
+    public void setSongId(String songId) { this.songId = songId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getArtist() { return artist; }
+    public void setArtist(String artist) { this.artist = artist; }
+
+    public Integer getDuration() { return duration; }
+    public void setDuration(Integer duration) { this.duration = duration; }
+
+    @Override
+    public String toString() {
+        return "TrackSummary{" +
+                "songId='" + songId + '\'' +
+                ", title='" + title + '\'' +
+                ", artist='" + artist + '\'' +
+                ", duration=" + duration +
+                '}';
+    }
+}
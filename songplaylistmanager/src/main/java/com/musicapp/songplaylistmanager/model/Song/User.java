@@ -2,33 +2,47 @@ package com.musicapp.songplaylistmanager.model.Song;
 
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Document(collection = "users")
 public class User {
 
+    // Unique index names, used to tell which field a duplicate key error is about
+    public static final String USERNAME_INDEX = "username";
+    public static final String EMAIL_INDEX = "email";
+
     @Id
     private String id;
 
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 20, message = "Username must be between 3 and 20 characters")
-    @Indexed(unique = true)
+    @Indexed(name = User.USERNAME_INDEX, unique = true)
     private String username;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Please provide a valid email")
-    @Indexed(unique = true)
+    @Indexed(name = User.EMAIL_INDEX, unique = true)
     private String email;
 
     @NotNull(message = "Role is required")
+    @Indexed(name = "role")
     private Role role;
 
-    private List<String> likedSongs; // Song IDs
+    @Indexed(name = "likedSongs") // multikey: finds a song's likers when the song is deleted
+    private List<String> likedSongs; // Song IDs (persisted, keeps like order)
+
+    @Transient
+    private Set<String> likedSongIndex; // Hash index over likedSongs for O(1) membership, built lazily
 
     private LocalDateTime createdDate;
 
@@ -59,25 +73,39 @@ public class User {
     public Role getRole() { return role; }
     public void setRole(Role role) { this.role = role; }
 
-    public List<String> getLikedSongs() { return likedSongs; }
-    public void setLikedSongs(List<String> likedSongs) { this.likedSongs = likedSongs; }
+    // Read-only view; use likeSong/unlikeSong so the membership index stays in sync
+    public List<String> getLikedSongs() { return Collections.unmodifiableList(likedSongs); }
+    public void setLikedSongs(List<String> likedSongs) {
+        this.likedSongs = likedSongs != null ? new ArrayList<>(new LinkedHashSet<>(likedSongs)) : new ArrayList<>();
+        this.likedSongIndex = null;
+    }
 
     public LocalDateTime getCreatedDate() { return createdDate; }
     public void setCreatedDate(LocalDateTime createdDate) { this.createdDate = createdDate; }
 
     // Utility methods
     public void likeSong(String songId) {
-        if (!likedSongs.contains(songId)) {
+        if (likedSongIndex().add(songId)) {
             likedSongs.add(songId);
         }
     }
 
     public void unlikeSong(String songId) {
-        likedSongs.remove(songId);
+        if (likedSongIndex().remove(songId)) {
+            likedSongs.remove(songId);
+        }
     }
 
     public boolean hasLikedSong(String songId) {
-        return likedSongs.contains(songId);
+        return likedSongIndex().contains(songId);
+    }
+
+    // Built on first use because Spring Data populates likedSongs directly through the field
+    private Set<String> likedSongIndex() {
+        if (likedSongIndex == null) {
+            likedSongIndex = new HashSet<>(likedSongs);
+        }
+        return likedSongIndex;
     }
 
     public boolean isAdmin() {
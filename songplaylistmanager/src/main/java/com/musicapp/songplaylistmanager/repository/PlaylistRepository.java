@@ -2,9 +2,14 @@ package com.musicapp.songplaylistmanager.repository;
 
 
 import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PlaylistRepository extends MongoRepository<Playlist, String> {
@@ -12,12 +17,24 @@ public interface PlaylistRepository extends MongoRepository<Playlist, String> {
     // Find playlists by user ID
     List<Playlist> findByUserId(String userId);
 
-    // Find playlists by name
-    List<Playlist> findByNameContainingIgnoreCase(String name);
-
     // Find playlists containing a specific song
     List<Playlist> findBySongIdsContaining(String songId);
 
+    // Find playlists whose normalized name falls in [fromKey, toKey) - a range scan on the nameKey index
+    @Query("{ 'nameKey': { '$gte': ?0, '$lt': ?1 } }")
+    List<Playlist> findByNameKeyRange(String fromKey, String toKey);
+
+    // Find playlists whose normalized name starts with the given normalized prefix
+    default List<Playlist> findByNameKeyStartingWith(String prefixKey) {
+        return findByNameKeyRange(prefixKey, TextNormalizer.prefixUpperBound(prefixKey));
+    }
+
     // Count playlists by user
     long countByUserId(String userId);
+
+    // Page through all playlists without running a count query
+    Slice<Playlist> findAllBy(Pageable pageable);
+
+    // Stream all playlists through a MongoDB cursor (caller must close the stream)
+    Stream<Playlist> streamAllBy();
 }
\ No newline at end of file
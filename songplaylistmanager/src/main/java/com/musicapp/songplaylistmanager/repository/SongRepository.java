@@ -2,30 +2,53 @@ package com.musicapp.songplaylistmanager.repository;
 
 
 import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SongRepository extends MongoRepository<Song, String> {
 
-    // Find songs by artist
-    List<Song> findByArtistContainingIgnoreCase(String artist);
+    // Find all songs whose ID is in the given collection (single $in query)
+    List<Song> findByIdIn(Collection<String> ids);
 
-    // Find songs by title
-    List<Song> findByTitleContainingIgnoreCase(String title);
+    // Find songs by normalized genre (see TextNormalizer.normalize)
+    List<Song> findByGenreKey(String genreKey);
 
-    // Find songs by genre
-    List<Song> findByGenreIgnoreCase(String genre);
+    // Find the most liked songs in a normalized genre (genreKey_likeCount index)
+    List<Song> findByGenreKeyOrderByLikeCountDesc(String genreKey, Pageable pageable);
 
-    // Find songs by album
-    List<Song> findByAlbumContainingIgnoreCase(String album);
+    // Find songs whose duration in seconds lies in [minSeconds, maxSeconds]
+    @Query("{ 'duration': { '$gte': ?0, '$lte': ?1 } }")
+    List<Song> findByDurationRange(int minSeconds, int maxSeconds);
 
-    // Search songs by title or artist
-    @Query("{ $or: [ { 'title': { $regex: ?0, $options: 'i' } }, { 'artist': { $regex: ?0, $options: 'i' } } ] }")
-    List<Song> searchByTitleOrArtist(String searchTerm);
+    // Find songs by normalized artist
+    List<Song> findByArtistKey(String artistKey);
+
+    // Find songs by normalized album
+    List<Song> findByAlbumKey(String albumKey);
+
+    // Find songs whose normalized artist falls in [fromKey, toKey) - a range scan on the artistKey index
+    @Query("{ 'artistKey': { '$gte': ?0, '$lt': ?1 } }")
+    List<Song> findByArtistKeyRange(String fromKey, String toKey);
+
+    // Find songs whose normalized artist starts with the given normalized prefix
+    default List<Song> findByArtistKeyStartingWith(String prefixKey) {
+        return findByArtistKeyRange(prefixKey, TextNormalizer.prefixUpperBound(prefixKey));
+    }
 
     // Find most liked songs
     List<Song> findTop10ByOrderByLikeCountDesc();
+
+    // Page through all songs without running a count query
+    Slice<Song> findAllBy(Pageable pageable);
+
+    // Stream all songs through a MongoDB cursor (caller must close the stream)
+    Stream<Song> streamAllBy();
 }
\ No newline at end of file
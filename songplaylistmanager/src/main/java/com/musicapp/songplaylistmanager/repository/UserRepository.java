@@ -1,13 +1,16 @@
 package com.musicapp.songplaylistmanager.repository;
 
 
+import com.musicapp.songplaylistmanager.model.Song.Role;
 import com.musicapp.songplaylistmanager.model.Song.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import javax.management.relation.Role;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends MongoRepository<User, String> {
@@ -21,9 +24,18 @@ public interface UserRepository extends MongoRepository<User, String> {
     // Find users by role
     List<User> findByRole(Role role);
 
+    // Count users by role
+    long countByRole(Role role);
+
     // Check if username exists
     boolean existsByUsername(String username);
 
     // Check if email exists
     boolean existsByEmail(String email);
+
+    // Page through all users without running a count query
+    Slice<User> findAllBy(Pageable pageable);
+
+    // Stream all users through a MongoDB cursor (caller must close the stream)
+    Stream<User> streamAllBy();
 }
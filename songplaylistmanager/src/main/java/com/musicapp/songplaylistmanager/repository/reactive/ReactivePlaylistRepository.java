@@ -0,0 +1,15 @@
+package com.musicapp.songplaylistmanager.repository.reactive;
+
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+// Non-blocking counterpart of PlaylistRepository (enabled by the 'reactive' profile)
+@Repository
+public interface ReactivePlaylistRepository extends ReactiveMongoRepository<Playlist, String> {
+
+    // Find playlists by user ID
+    Flux<Playlist> findByUserId(String userId);
+}
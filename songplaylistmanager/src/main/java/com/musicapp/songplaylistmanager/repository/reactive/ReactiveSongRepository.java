@@ -0,0 +1,23 @@
+package com.musicapp.songplaylistmanager.repository.reactive;
+
+
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+// Non-blocking counterpart of SongRepository (enabled by the 'reactive' profile)
+@Repository
+public interface ReactiveSongRepository extends ReactiveMongoRepository<Song, String> {
+
+    // Find all songs whose ID is in the given collection (single $in query)
+    Flux<Song> findByIdIn(Collection<String> ids);
+
+    // Find songs by normalized genre (see TextNormalizer.normalize)
+    Flux<Song> findByGenreKey(String genreKey);
+
+    // Find most liked songs
+    Flux<Song> findTop10ByOrderByLikeCountDesc();
+}
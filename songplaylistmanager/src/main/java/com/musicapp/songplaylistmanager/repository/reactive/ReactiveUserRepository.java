@@ -0,0 +1,15 @@
+package com.musicapp.songplaylistmanager.repository.reactive;
+
+
+import com.musicapp.songplaylistmanager.model.Song.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+// Non-blocking counterpart of UserRepository (enabled by the 'reactive' profile)
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+
+    // Find user by username
+    Mono<User> findByUsername(String username);
+}
@@ -0,0 +1,446 @@
+package com.musicapp.songplaylistmanager.search;
+
+import com.musicapp.songplaylistmanager.event.SongChangedEvent;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// In-memory inverted index over song title, artist, album and genre.
+// Terms are case and diacritic folded, every query token matches as a prefix,
+// and results are ranked by which fields matched (title > artist > album > genre).
+//
+// Each term keeps its songs per field, sorted by ID, so a token's matches can be read
+// best-first (by score, then ID) without scoring them all. A search walks those streams
+// and stops as soon as no song it has not seen yet could still make the requested page.
+// The page total is exact when every match was seen; when the walk stopped early it is a
+// lower bound that still counts at least one match past the page, so hasNext() holds.
+@Component
+public class SongSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SongSearchIndex.class);
+
+    static final int TITLE_WEIGHT = 8;
+    static final int ARTIST_WEIGHT = 4;
+    static final int ALBUM_WEIGHT = 2;
+    static final int GENRE_WEIGHT = 1;
+
+    // Field weights by field position; a term is filed under the best field it occurs in
+    private static final int[] FIELD_WEIGHTS = {TITLE_WEIGHT, ARTIST_WEIGHT, ALBUM_WEIGHT, GENRE_WEIGHT};
+
+    // Whole-word matches rank above prefix matches
+    private static final int EXACT_BOOST = 2;
+
+    // Every score a single token can give a song, best first
+    private static final int[] TOKEN_SCORES = IntStream.of(FIELD_WEIGHTS)
+            .flatMap(weight -> IntStream.of(weight * EXACT_BOOST, weight))
+            .boxed().distinct().sorted(Comparator.reverseOrder())
+            .mapToInt(Integer::intValue).toArray();
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::score).reversed()
+            .thenComparing(Match::songId);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // term -> songs indexed under it, per field
+    private final NavigableMap<String, TermPostings> postings = new TreeMap<>();
+
+    // songId -> term -> field it was filed under, used for scoring and for removal on update/delete
+    private final Map<String, Map<String, Integer>> termsBySong = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready = false;
+
+    // Load every song once the context is up
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuild() {
+        logger.info("🔎 Building song search index...");
+        Query query = new Query();
+        query.fields().include("title", "artist", "album", "genre");
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsBySong.clear();
+            try (Stream<Song> songs = mongoTemplate.stream(query, Song.class)) {
+                songs.forEach(this::indexUnlocked);
+            }
+            ready = true;
+            logger.info("✅ Search index ready: {} songs, {} terms", termsBySong.size(), postings.size());
+        } catch (RuntimeException e) {
+            ready = false;
+            logger.error("❌ Failed to build search index: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Retries a failed build, so search comes back by itself once MongoDB is reachable again
+    @Scheduled(fixedDelayString = "${app.search.rebuild-retry-ms:30000}",
+            initialDelayString = "${app.search.rebuild-retry-ms:30000}")
+    public void retryFailedRebuild() {
+        if (!ready) {
+            rebuild();
+        }
+    }
+
+    @EventListener
+    public void onSongChanged(SongChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> index(event.getSong());
+            case DELETED -> remove(event.getSongId());
+            case CLEARED -> rebuild();
+        }
+    }
+
+    public void index(Song song) {
+        lock.writeLock().lock();
+        try {
+            indexUnlocked(song);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String songId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(songId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsBySong.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsBySong.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns a page of song IDs ordered by relevance, then ID.
+    // All query tokens must match (as a prefix of some indexed term).
+    public Page<String> search(String queryText, Pageable pageable) {
+        if (!ready) {
+            throw new RuntimeException("Song search is unavailable until the search index has been built");
+        }
+        List<String> tokens = TextNormalizer.tokenize(queryText);
+        if (tokens.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        // One past the page, to know whether another page follows
+        int wanted = (int) Math.min(Integer.MAX_VALUE - 1, pageable.getOffset() + pageable.getPageSize()) + 1;
+        List<Match> ranked;
+        long matched;
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Match> top = new PriorityQueue<>(RANKING.reversed());
+            matched = collectTop(tokens, wanted, top);
+            ranked = new ArrayList<>(top);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        ranked.sort(RANKING);
+        List<String> ids = new ArrayList<>(pageable.getPageSize());
+        for (long i = pageable.getOffset(); i < ranked.size() && ids.size() < pageable.getPageSize(); i++) {
+            ids.add(ranked.get((int) i).songId());
+        }
+        return new PageImpl<>(ids, pageable, matched);
+    }
+
+    // Threshold walk over the tokens' best-first streams: each song is scored once when first
+    // seen, and the walk ends when one stream runs out (every match has been seen) or when the
+    // worst kept match outranks anything still unseen. Returns the number of matches seen.
+    private long collectTop(List<String> tokens, int wanted, PriorityQueue<Match> top) {
+        List<TokenStream> streams = tokens.stream().map(TokenStream::new).toList();
+        Set<String> seen = new HashSet<>();
+        long matched = 0;
+        while (true) {
+            TokenStream next = null;
+            for (TokenStream stream : streams) {
+                if (stream.isExhausted()) {
+                    return matched;
+                }
+                if (next == null || stream.levelScore() > next.levelScore()) {
+                    next = stream;
+                }
+            }
+
+            String songId = next.next();
+            if (seen.add(songId)) {
+                int score = scoreOf(songId, tokens);
+                if (score > 0) {
+                    matched++;
+                    top.offer(new Match(songId, score));
+                    if (top.size() > wanted) {
+                        top.poll();
+                    }
+                }
+            }
+            if (top.size() == wanted && outranksUnseen(top.peek(), streams)) {
+                return matched;
+            }
+        }
+    }
+
+    // An unseen song scores at most the sum of the streams' current levels, and at a stream's
+    // current level it sorts after the last ID that stream returned
+    private static boolean outranksUnseen(Match worst, List<TokenStream> streams) {
+        int bound = 0;
+        boolean unseenTiesSortAfter = false;
+        for (TokenStream stream : streams) {
+            bound += stream.levelScore();
+            String lastId = stream.lastIdInLevel();
+            if (lastId != null && lastId.compareTo(worst.songId()) >= 0) {
+                unseenTiesSortAfter = true;
+            }
+        }
+        return worst.score() > bound || (worst.score() == bound && unseenTiesSortAfter);
+    }
+
+    // Sum over the tokens of the best weight of a term the token is a prefix of; 0 if one has none
+    private int scoreOf(String songId, List<String> tokens) {
+        Map<String, Integer> terms = termsBySong.get(songId);
+        int total = 0;
+        for (String token : tokens) {
+            int best = 0;
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                if (term.getKey().startsWith(token)) {
+                    int weight = FIELD_WEIGHTS[term.getValue()] * (term.getKey().equals(token) ? EXACT_BOOST : 1);
+                    best = Math.max(best, weight);
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private void indexUnlocked(Song song) {
+        if (song == null || song.getId() == null) {
+            return;
+        }
+        removeUnlocked(song.getId());
+
+        Map<String, Integer> fields = new HashMap<>();
+        addField(fields, song.getTitle(), 0);
+        addField(fields, song.getArtist(), 1);
+        addField(fields, song.getAlbum(), 2);
+        addField(fields, song.getGenre(), 3);
+
+        for (Map.Entry<String, Integer> entry : fields.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new TermPostings()).add(entry.getValue(), song.getId());
+        }
+        termsBySong.put(song.getId(), fields);
+    }
+
+    // Lower field positions weigh more, so a term keeps the first field it appears in
+    private void addField(Map<String, Integer> fields, String value, int field) {
+        for (String token : TextNormalizer.tokenize(value)) {
+            fields.merge(token, field, Math::min);
+        }
+    }
+
+    private void removeUnlocked(String songId) {
+        Map<String, Integer> terms = termsBySong.remove(songId);
+        if (terms == null) {
+            return;
+        }
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            TermPostings songs = postings.get(term.getKey());
+            if (songs != null && songs.remove(term.getValue(), songId)) {
+                postings.remove(term.getKey());
+            }
+        }
+    }
+
+    record Match(String songId, int score) {
+    }
+
+    // Songs indexed under one term, one ID-sorted set per field (created on first use)
+    private static final class TermPostings {
+
+        private final NavigableSet<String>[] songsByField = newFieldSets();
+
+        void add(int field, String songId) {
+            if (songsByField[field] == null) {
+                songsByField[field] = new TreeSet<>();
+            }
+            songsByField[field].add(songId);
+        }
+
+        // Returns true once the term holds no songs at all
+        boolean remove(int field, String songId) {
+            if (songsByField[field] != null && songsByField[field].remove(songId) && songsByField[field].isEmpty()) {
+                songsByField[field] = null;
+            }
+            for (NavigableSet<String> songs : songsByField) {
+                if (songs != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        NavigableSet<String> songs(int field) {
+            return songsByField[field];
+        }
+
+        @SuppressWarnings("unchecked")
+        private static NavigableSet<String>[] newFieldSets() {
+            return new NavigableSet[FIELD_WEIGHTS.length];
+        }
+    }
+
+    // The songs matching one query token, best token score first and by ID within a score.
+    // A level (one score) is the ID-ordered merge of the field sets giving that score: the
+    // token's own term boosted, or any longer term it is a prefix of. Levels are only built
+    // when the walk reaches them.
+    private final class TokenStream {
+
+        private final TermPostings exact;
+        private final Collection<TermPostings> longer;
+        private int level = -1;
+        private final PriorityQueue<PeekingIterator> merge = new PriorityQueue<>(Comparator.comparing(PeekingIterator::peek));
+        private String lastIdInLevel;
+
+        TokenStream(String token) {
+            this.exact = postings.get(token);
+            this.longer = postings.subMap(token, false, token + Character.MAX_VALUE, false).values();
+            nextLevel();
+        }
+
+        boolean isExhausted() {
+            return level >= TOKEN_SCORES.length;
+        }
+
+        int levelScore() {
+            return isExhausted() ? 0 : TOKEN_SCORES[level];
+        }
+
+        // Last ID returned from the current level, null if none yet
+        String lastIdInLevel() {
+            return lastIdInLevel;
+        }
+
+        String next() {
+            PeekingIterator head = merge.poll();
+            String songId = head.next();
+            if (head.hasNext()) {
+                merge.offer(head);
+            }
+            // The same song can sit in several sets of one level; skip the repeats
+            while (!merge.isEmpty() && merge.peek().peek().equals(songId)) {
+                PeekingIterator duplicate = merge.poll();
+                duplicate.next();
+                if (duplicate.hasNext()) {
+                    merge.offer(duplicate);
+                }
+            }
+            lastIdInLevel = songId;
+            if (merge.isEmpty()) {
+                nextLevel();
+            }
+            return songId;
+        }
+
+        private void nextLevel() {
+            lastIdInLevel = null;
+            while (merge.isEmpty() && ++level < TOKEN_SCORES.length) {
+                int score = TOKEN_SCORES[level];
+                for (int field = 0; field < FIELD_WEIGHTS.length; field++) {
+                    if (exact != null && FIELD_WEIGHTS[field] * EXACT_BOOST == score) {
+                        addSource(exact.songs(field));
+                    }
+                    if (FIELD_WEIGHTS[field] == score) {
+                        for (TermPostings term : longer) {
+                            addSource(term.songs(field));
+                        }
+                    }
+                }
+            }
+        }
+
+        private void addSource(NavigableSet<String> songs) {
+            if (songs != null && !songs.isEmpty()) {
+                merge.offer(new PeekingIterator(songs.iterator()));
+            }
+        }
+    }
+
+    private static final class PeekingIterator {
+
+        private final Iterator<String> iterator;
+        private String head;
+
+        PeekingIterator(Iterator<String> iterator) {
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+
+        String peek() {
+            return head;
+        }
+
+        boolean hasNext() {
+            return head != null;
+        }
+
+        String next() {
+            String current = head;
+            head = iterator.hasNext() ? iterator.next() : null;
+            return current;
+        }
+    }
+}
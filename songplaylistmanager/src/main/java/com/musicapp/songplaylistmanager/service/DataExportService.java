@@ -0,0 +1,253 @@
+package com.musicapp.songplaylistmanager.service;
+
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.RenameCollectionOptions;
+import com.musicapp.songplaylistmanager.config.MetricsConfig;
+import com.musicapp.songplaylistmanager.config.NormalizedKeyMigration;
+import com.musicapp.songplaylistmanager.config.PlaylistTrackMigration;
+import com.musicapp.songplaylistmanager.dto.ExportReport;
+import com.musicapp.songplaylistmanager.event.SongChangedEvent;
+import com.musicapp.songplaylistmanager.export.DataSet;
+import com.musicapp.songplaylistmanager.export.DocumentFileReader;
+import com.musicapp.songplaylistmanager.export.DocumentFileWriter;
+import com.musicapp.songplaylistmanager.export.ExportFormat;
+import com.musicapp.songplaylistmanager.search.SongSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Export collections to JSONL/BSON files and restore them again (Admin only).
+// Documents travel as raw BSON straight from the cursor to the file and back, never
+// as mapped entities, so heap use is bounded by the cursor and insert batch sizes.
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class DataExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataExportService.class);
+
+    // restoreCollection loads into e.g. songs_restore before it replaces songs
+    static final String STAGING_SUFFIX = "_restore";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRoleResolver userRoleResolver;
+
+    @Autowired
+    private SongSearchIndex songSearchIndex;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private NormalizedKeyMigration normalizedKeyMigration;
+
+    @Autowired
+    private PlaylistTrackMigration playlistTrackMigration;
+
+    @Value("${app.export.cursor-batch-size:1000}")
+    private int cursorBatchSize;
+
+    @Value("${app.export.restore-batch-size:1000}")
+    private int restoreBatchSize;
+
+    // Export one collection into directory as e.g. songs.bson.gz
+    public ExportReport exportCollection(DataSet dataSet, Path directory, ExportFormat format,
+                                         boolean gzip, String adminUserId) {
+        requireAdmin(adminUserId, "export data");
+
+        String collectionName = collectionName(dataSet);
+        Path file = directory.resolve(collectionName + format.getExtension() + (gzip ? ".gz" : ""));
+        logger.info("📤 Exporting {} to {}", collectionName, file);
+
+        long start = System.nanoTime();
+        long documents;
+        long bytes;
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream target = Files.newOutputStream(file);
+                 DocumentFileWriter writer = new DocumentFileWriter(target, format, gzip);
+                 MongoCursor<RawBsonDocument> cursor = rawCollection(collectionName).find()
+                         .batchSize(cursorBatchSize)
+                         .iterator()) {
+                while (cursor.hasNext()) {
+                    writer.write(cursor.next());
+                }
+                documents = writer.getDocuments();
+                bytes = writer.getBytes();
+            }
+        } catch (IOException e) {
+            logger.error("❌ Export of {} failed: {}", collectionName, e.getMessage());
+            throw new UncheckedIOException("Export failed: " + e.getMessage(), e);
+        }
+
+        ExportReport report = new ExportReport(collectionName, file, documents, bytes,
+                Duration.ofNanos(System.nanoTime() - start));
+        logger.info("✅ Exported {} {} documents ({} bytes) in {} ms",
+                documents, collectionName, bytes, report.getElapsed().toMillis());
+        return report;
+    }
+
+    // Export every collection into directory
+    public List<ExportReport> exportAll(Path directory, ExportFormat format, boolean gzip, String adminUserId) {
+        List<ExportReport> reports = new ArrayList<>();
+        for (DataSet dataSet : DataSet.values()) {
+            reports.add(exportCollection(dataSet, directory, format, gzip, adminUserId));
+        }
+        return reports;
+    }
+
+    // Load an export file back into its collection. With replaceExisting the file is loaded
+    // into a staging collection that takes the live one's place only once every document is
+    // in, so a truncated or corrupt file leaves the existing data untouched; the result is
+    // an exact round trip of the export.
+    public ExportReport restoreCollection(DataSet dataSet, Path file, boolean replaceExisting, String adminUserId) {
+        requireAdmin(adminUserId, "restore data");
+
+        String collectionName = collectionName(dataSet);
+        String fileName = file.getFileName().toString();
+        ExportFormat format = ExportFormat.fromFileName(fileName);
+        logger.info("📥 Restoring {} from {}{}", collectionName, file, replaceExisting ? " (replacing existing data)" : "");
+
+        long start = System.nanoTime();
+        MongoCollection<RawBsonDocument> target = rawCollection(collectionName);
+        MongoCollection<RawBsonDocument> collection = replaceExisting ? stagingCollection(collectionName) : target;
+
+        long restored = 0;
+        boolean replaced = false;
+        try (InputStream source = Files.newInputStream(file);
+             DocumentFileReader reader = new DocumentFileReader(source, format, ExportFormat.isGzipped(fileName))) {
+            List<RawBsonDocument> batch = new ArrayList<>(restoreBatchSize);
+            RawBsonDocument document;
+            while ((document = reader.next()) != null) {
+                batch.add(document);
+                if (batch.size() >= restoreBatchSize) {
+                    restored += insertBatch(collection, batch);
+                }
+            }
+            restored += insertBatch(collection, batch);
+            if (replaceExisting) {
+                collection.renameCollection(target.getNamespace(), new RenameCollectionOptions().dropTarget(true));
+                replaced = true;
+            }
+        } catch (IOException e) {
+            logger.error("❌ Restore of {} failed after {} documents: {}", collectionName, restored, e.getMessage());
+            throw new UncheckedIOException("Restore failed: " + e.getMessage(), e);
+        } finally {
+            if (replaceExisting && !replaced) {
+                collection.drop();
+            }
+            // Raw writes bypass the mapping events, so bring derived state up to date
+            // (older exports do not carry the normalized lookup keys or the track summaries)
+            if (dataSet != DataSet.USERS) {
+                normalizedKeyMigration.backfillKeys();
+            } else {
+                userRoleResolver.clear();
+            }
+            if (dataSet == DataSet.PLAYLISTS) {
+                playlistTrackMigration.backfillTracks();
+            }
+            if (dataSet == DataSet.SONGS) {
+                eventPublisher.publishEvent(SongChangedEvent.cleared(this));
+                songSearchIndex.rebuild();
+            }
+            statisticsService.refresh();
+        }
+
+        ExportReport report = new ExportReport(collectionName, file, restored, sizeOf(file),
+                Duration.ofNanos(System.nanoTime() - start));
+        logger.info("✅ Restored {} {} documents in {} ms", restored, collectionName, report.getElapsed().toMillis());
+        return report;
+    }
+
+    // Empty collection next to collectionName carrying the same indexes, so the unique ones
+    // still skip duplicates and the renamed collection is ready to query. Any leftover from
+    // an interrupted restore is dropped first.
+    private MongoCollection<RawBsonDocument> stagingCollection(String collectionName) {
+        String stagingName = collectionName + STAGING_SUFFIX;
+        mongoTemplate.getCollection(stagingName).drop();
+        mongoTemplate.createCollection(stagingName);
+
+        List<Document> indexes = new ArrayList<>();
+        for (Document index : mongoTemplate.getCollection(collectionName).listIndexes()) {
+            if (!"_id_".equals(index.getString("name"))) {
+                index.remove("v");
+                index.remove("ns");
+                indexes.add(index);
+            }
+        }
+        if (!indexes.isEmpty()) {
+            mongoTemplate.getDb().runCommand(new Document("createIndexes", stagingName).append("indexes", indexes));
+        }
+        return rawCollection(stagingName);
+    }
+
+    // Unordered insertMany; documents whose _id already exists are skipped
+    private long insertBatch(MongoCollection<RawBsonDocument> collection, List<RawBsonDocument> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long inserted;
+        try {
+            collection.insertMany(batch, new InsertManyOptions().ordered(false));
+            inserted = batch.size();
+        } catch (MongoBulkWriteException e) {
+            if (e.getWriteConcernError() != null || e.getWriteErrors().isEmpty()) {
+                // A write concern error: the writes may not be durable, so none count as restored
+                throw new RuntimeException("Restore failed: " + (e.getWriteConcernError() != null
+                        ? e.getWriteConcernError().getMessage() : e.getMessage()), e);
+            }
+            inserted = e.getWriteResult().getInsertedCount();
+            logger.warn("⚠️ Skipped {} documents that could not be restored (first error: {})",
+                    e.getWriteErrors().size(), e.getWriteErrors().get(0).getMessage());
+        }
+        batch.clear();
+        return inserted;
+    }
+
+    private MongoCollection<RawBsonDocument> rawCollection(String collectionName) {
+        return mongoTemplate.getCollection(collectionName).withDocumentClass(RawBsonDocument.class);
+    }
+
+    private String collectionName(DataSet dataSet) {
+        return mongoTemplate.getCollectionName(dataSet.getEntityType());
+    }
+
+    private void requireAdmin(String adminUserId, String action) {
+        userRoleResolver.requireAdmin(adminUserId, action.toLowerCase(Locale.ROOT));
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -1,21 +1,40 @@
 package com.musicapp.songplaylistmanager.service;
 
 
+import com.musicapp.songplaylistmanager.config.MetricsConfig;
 import com.musicapp.songplaylistmanager.model.Song.Playlist;
 import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.TrackSummary;
 import com.musicapp.songplaylistmanager.model.Song.User;
 import com.musicapp.songplaylistmanager.repository.PlaylistRepository;
-import com.musicapp.songplaylistmanager.repository.SongRepository;
 import com.musicapp.songplaylistmanager.repository.UserRepository;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class PlaylistService {
 
     private static final Logger logger = LoggerFactory.getLogger(PlaylistService.class);
@@ -27,7 +46,22 @@ public class PlaylistService {
     private UserRepository userRepository;
 
     @Autowired
-    private SongRepository songRepository;
+    private PlaylistTrackSync playlistTrackSync;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private DistributionSummary playlistLengths;
+
+    @PostConstruct
+    void registerMeters() {
+        playlistLengths = DistributionSummary.builder("app.playlist.songs")
+                .description("Songs in a playlist after an add or remove")
+                .register(meterRegistry);
+    }
 
     // Create new playlist
     public Playlist createPlaylist(Playlist playlist) {
@@ -39,6 +73,9 @@ public class PlaylistService {
             throw new RuntimeException("User not found");
         }
 
+        // Summaries always come from the songs themselves, whatever the caller passed in
+        playlist.setTracks(resolveTracks(playlist.getSongIds()));
+
         Playlist savedPlaylist = playlistRepository.save(playlist);
         logger.info("✅ Playlist created successfully with ID: {}", savedPlaylist.getId());
 
@@ -47,11 +84,11 @@ public class PlaylistService {
 
     // Get playlist by ID
     public Optional<Playlist> getPlaylistById(String id) {
-        logger.info("🔍 Searching for playlist with ID: {}", id);
+        logger.debug("🔍 Searching for playlist with ID: {}", id);
         Optional<Playlist> playlist = playlistRepository.findById(id);
 
         if (playlist.isPresent()) {
-            logger.info("✅ Playlist found: {}", playlist.get().getName());
+            logger.debug("✅ Playlist found: {}", playlist.get().getName());
         } else {
             logger.warn("❌ Playlist not found with ID: {}", id);
         }
@@ -75,123 +112,239 @@ public class PlaylistService {
     }
 
     // Update playlist
+    // One findAndModify with the owner in the filter; the playlist is only read again if it matched nothing.
     public Playlist updatePlaylist(String playlistId, Playlist updatedPlaylist, String userId) {
         logger.info("🔄 Updating playlist with ID: {}", playlistId);
 
-        Optional<Playlist> existingPlaylistOpt = playlistRepository.findById(playlistId);
-        if (existingPlaylistOpt.isEmpty()) {
-            logger.error("❌ Playlist not found with ID: {}", playlistId);
-            throw new RuntimeException("Playlist not found");
+        Playlist savedPlaylist = mongoTemplate.findAndModify(
+                ownedPlaylist(playlistId, userId),
+                new Update()
+                        .set("name", updatedPlaylist.getName())
+                        .set("nameKey", TextNormalizer.normalize(updatedPlaylist.getName()))
+                        .set("description", updatedPlaylist.getDescription())
+                        .currentDate("updatedDate"),
+                FindAndModifyOptions.options().returnNew(true),
+                Playlist.class);
+
+        if (savedPlaylist == null) {
+            throw explainRejectedOwnerChange(playlistId, userId, "update");
         }
 
-        Playlist playlist = existingPlaylistOpt.get();
-
-        // Verify ownership
-        if (!playlist.getUserId().equals(userId)) {
-            logger.error("❌ Unauthorized: User {} cannot update playlist owned by {}", userId, playlist.getUserId());
-            throw new RuntimeException("You can only update your own playlists");
-        }
-
-        playlist.setName(updatedPlaylist.getName());
-        playlist.setDescription(updatedPlaylist.getDescription());
-
-        Playlist savedPlaylist = playlistRepository.save(playlist);
         logger.info("✅ Playlist updated successfully: {}", savedPlaylist.getName());
-
         return savedPlaylist;
     }
 
     // Delete playlist
+    // One findAndRemove with the owner in the filter; the playlist is only read again if it matched nothing.
     public void deletePlaylist(String playlistId, String userId) {
         logger.info("🗑️ Deleting playlist with ID: {}", playlistId);
 
-        Optional<Playlist> playlistOpt = playlistRepository.findById(playlistId);
-        if (playlistOpt.isEmpty()) {
-            logger.error("❌ Playlist not found with ID: {}", playlistId);
-            throw new RuntimeException("Playlist not found");
+        Playlist deletedPlaylist = mongoTemplate.findAndRemove(ownedPlaylist(playlistId, userId), Playlist.class);
+        if (deletedPlaylist == null) {
+            throw explainRejectedOwnerChange(playlistId, userId, "delete");
         }
 
-        Playlist playlist = playlistOpt.get();
-
-        // Verify ownership
-        if (!playlist.getUserId().equals(userId)) {
-            logger.error("❌ Unauthorized: User {} cannot delete playlist owned by {}", userId, playlist.getUserId());
-            throw new RuntimeException("You can only delete your own playlists");
-        }
-
-        playlistRepository.deleteById(playlistId);
-        logger.info("✅ Playlist deleted successfully: {}", playlist.getName());
+        logger.info("✅ Playlist deleted successfully: {}", deletedPlaylist.getName());
     }
 
     // Add song to playlist
+    // Single atomic $push guarded by ownership and duplicate checks in the filter,
+    // so concurrent adds from different devices are all kept. The song's summary and
+    // duration go into tracks/totalDuration in the same write; the summary is read from
+    // MongoDB, not the songs cache, since it is stored for good.
     public Playlist addSongToPlaylist(String playlistId, String songId, String userId) {
         logger.info("➕ Adding song {} to playlist {}", songId, playlistId);
 
-        Playlist playlist = playlistRepository.findById(playlistId)
-                .orElseThrow(() -> {
-                    logger.error("❌ Playlist not found with ID: {}", playlistId);
-                    return new RuntimeException("Playlist not found");
-                });
-
-        Song song = songRepository.findById(songId)
-                .orElseThrow(() -> {
-                    logger.error("❌ Song not found with ID: {}", songId);
-                    return new RuntimeException("Song not found");
-                });
-
-        // Verify ownership
-        if (!playlist.getUserId().equals(userId)) {
-            logger.error("❌ Unauthorized: User {} cannot modify playlist owned by {}", userId, playlist.getUserId());
-            throw new RuntimeException("You can only modify your own playlists");
+        Song song = playlistTrackSync.findSummaryFields(songId);
+        if (song == null) {
+            logger.error("❌ Song not found with ID: {}", songId);
+            throw new RuntimeException("Song not found");
         }
-
-        if (playlist.containsSong(songId)) {
-            logger.warn("⚠️ Song already exists in playlist: {}", song.getTitle());
-            throw new RuntimeException("Song already exists in playlist");
+        TrackSummary summary = TrackSummary.of(song);
+
+        Playlist savedPlaylist = mongoTemplate.findAndModify(
+                ownedPlaylist(playlistId, userId).addCriteria(Criteria.where("songIds").ne(songId)),
+                new Update()
+                        .push("songIds", songId)
+                        .push("tracks", summary)
+                        .inc("totalDuration", song.getDuration() != null ? song.getDuration() : 0)
+                        .currentDate("updatedDate"),
+                FindAndModifyOptions.options().returnNew(true),
+                Playlist.class);
+
+        if (savedPlaylist == null) {
+            throw explainRejectedSongChange(playlistId, songId, userId, true);
         }
+        // An edit saved between the read and the $push may have refreshed playlists before this
+        // one held the song; any later edit's refresh will find it
+        Song current = playlistTrackSync.findSummaryFields(songId);
+        if (current != null && !sameSummary(summary, TrackSummary.of(current))) {
+            Playlist refreshed = playlistTrackSync.refreshSongIn(playlistId, songId);
+            if (refreshed != null) {
+                savedPlaylist = refreshed;
+            }
+        }
+        repairTrackSummaries(savedPlaylist);
 
-        playlist.addSong(songId);
-        Playlist savedPlaylist = playlistRepository.save(playlist);
-        logger.info("✅ Song '{}' added to playlist '{}'. Total songs: {}", song.getTitle(), playlist.getName(), savedPlaylist.getSongCount());
-
+        logger.info("✅ Song {} added to playlist '{}'. Total songs: {}", songId, savedPlaylist.getName(), savedPlaylist.getSongCount());
+        recordPlaylistLength(savedPlaylist);
         return savedPlaylist;
     }
 
     // Remove song from playlist
+    // Single atomic pipeline update guarded by ownership and membership checks in the filter;
+    // drops the ID and its summary and recomputes totalDuration.
     public Playlist removeSongFromPlaylist(String playlistId, String songId, String userId) {
         logger.info("➖ Removing song {} from playlist {}", songId, playlistId);
 
-        Playlist playlist = playlistRepository.findById(playlistId)
-                .orElseThrow(() -> {
-                    logger.error("❌ Playlist not found with ID: {}", playlistId);
-                    return new RuntimeException("Playlist not found");
-                });
+        Playlist savedPlaylist = mongoTemplate.findAndModify(
+                ownedPlaylist(playlistId, userId).addCriteria(Criteria.where("songIds").is(songId)),
+                PlaylistTrackSync.removeSong(songId),
+                FindAndModifyOptions.options().returnNew(true),
+                Playlist.class);
 
-        // Verify ownership
-        if (!playlist.getUserId().equals(userId)) {
-            logger.error("❌ Unauthorized: User {} cannot modify playlist owned by {}", userId, playlist.getUserId());
-            throw new RuntimeException("You can only modify your own playlists");
+        if (savedPlaylist == null) {
+            throw explainRejectedSongChange(playlistId, songId, userId, false);
         }
+        repairTrackSummaries(savedPlaylist);
 
-        if (!playlist.containsSong(songId)) {
-            logger.warn("⚠️ Song not found in playlist");
-            throw new RuntimeException("Song not found in playlist");
+        logger.info("✅ Song removed from playlist '{}'. Remaining songs: {}", savedPlaylist.getName(), savedPlaylist.getSongCount());
+        recordPlaylistLength(savedPlaylist);
+        return savedPlaylist;
+    }
+
+    // Title/artist/duration of every song in the playlist, in order. Served from the playlist's
+    // own summaries; playlists without complete summaries (written before they existed, or
+    // built with addSong(String)) are resolved through SongService once and written back.
+    // Songs that no longer exist get a summary without title or artist.
+    public List<TrackSummary> getPlaylistTracks(Playlist playlist) {
+        if (playlist.hasTrackSummaries()) {
+            return playlist.getTracks();
         }
 
-        playlist.removeSong(songId);
-        Playlist savedPlaylist = playlistRepository.save(playlist);
-        logger.info("✅ Song removed from playlist '{}'. Remaining songs: {}", playlist.getName(), savedPlaylist.getSongCount());
+        List<String> songIds = playlist.getSongIds();
+        List<TrackSummary> tracks = resolveTracks(songIds);
+        playlist.setTracks(tracks);
+
+        // Only if the songs are unchanged since we read them, so a concurrent edit is never overwritten
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(playlist.getId()).and("songIds").is(songIds)),
+                new Update().set("tracks", tracks).set("totalDuration", playlist.getTotalDuration()),
+                Playlist.class);
+        logger.info("🔁 Backfilled {} track summaries for playlist {}", tracks.size(), playlist.getId());
+        return playlist.getTracks();
+    }
 
-        return savedPlaylist;
+    // An add or remove on a playlist without complete summaries (see getPlaylistTracks) leaves
+    // tracks and totalDuration describing only part of it; rebuild both before answering
+    private void repairTrackSummaries(Playlist playlist) {
+        if (!playlist.hasTrackSummaries()) {
+            getPlaylistTracks(playlist);
+        }
     }
 
-    // Get all playlists (Admin only)
+    // One summary per song ID, in order, from a single projected query
+    private List<TrackSummary> resolveTracks(List<String> songIds) {
+        if (songIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Song> songs = playlistTrackSync.findSummaryFields(songIds);
+        List<TrackSummary> tracks = new ArrayList<>(songIds.size());
+        for (String songId : songIds) {
+            Song song = songs.get(songId);
+            tracks.add(song != null ? TrackSummary.of(song) : new TrackSummary(songId, null, null, null));
+        }
+        return tracks;
+    }
+
+    // Playlist sizes after each edit, to see how long the arrays we $push into get
+    private void recordPlaylistLength(Playlist playlist) {
+        playlistLengths.record(playlist.getSongCount());
+    }
+
+    // Filter matching the playlist only if the given user owns it
+    private static boolean sameSummary(TrackSummary a, TrackSummary b) {
+        return Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getArtist(), b.getArtist())
+                && Objects.equals(a.getDuration(), b.getDuration());
+    }
+
+    private static Query ownedPlaylist(String playlistId, String userId) {
+        return Query.query(Criteria.where("_id").is(playlistId).and("userId").is(userId));
+    }
+
+    // Works out why an owner-scoped update/delete matched nothing. Only runs on the failure path.
+    private RuntimeException explainRejectedOwnerChange(String playlistId, String userId, String action) {
+        Optional<String> ownerId = findOwnerId(playlistId);
+        if (ownerId.isEmpty()) {
+            logger.error("❌ Playlist not found with ID: {}", playlistId);
+            return new RuntimeException("Playlist not found");
+        }
+        logger.error("❌ Unauthorized: User {} cannot {} playlist owned by {}", userId, action, ownerId.get());
+        return new RuntimeException("You can only " + action + " your own playlists");
+    }
+
+    // Works out why a guarded add/remove matched nothing. Only runs on the failure path.
+    private RuntimeException explainRejectedSongChange(String playlistId, String songId, String userId, boolean adding) {
+        Optional<String> ownerId = findOwnerId(playlistId);
+        if (ownerId.isEmpty()) {
+            logger.error("❌ Playlist not found with ID: {}", playlistId);
+            return new RuntimeException("Playlist not found");
+        }
+
+        if (!ownerId.get().equals(userId)) {
+            logger.error("❌ Unauthorized: User {} cannot modify playlist owned by {}", userId, ownerId.get());
+            return new RuntimeException("You can only modify your own playlists");
+        }
+
+        if (adding) {
+            logger.warn("⚠️ Song already exists in playlist: {}", songId);
+            return new RuntimeException("Song already exists in playlist");
+        }
+        logger.warn("⚠️ Song not found in playlist");
+        return new RuntimeException("Song not found in playlist");
+    }
+
+    // Owner of a playlist, reading only the userId field
+    private Optional<String> findOwnerId(String playlistId) {
+        Query query = Query.query(Criteria.where("_id").is(playlistId));
+        query.fields().include("userId");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Playlist.class)).map(Playlist::getUserId);
+    }
+
+    // Find playlists whose name starts with the given text (case and accents ignored)
+    public List<Playlist> searchPlaylistsByName(String namePrefix) {
+        logger.info("🔍 Searching playlists by name: {}", namePrefix);
+        String prefixKey = TextNormalizer.normalize(namePrefix);
+        if (prefixKey == null || prefixKey.isEmpty()) {
+            throw new RuntimeException("Search name must not be blank");
+        }
+        List<Playlist> playlists = playlistRepository.findByNameKeyStartingWith(prefixKey);
+        logger.info("📊 Found {} playlists matching: {}", playlists.size(), namePrefix);
+        return playlists;
+    }
+
+    // Get all playlists (Admin only, loads the whole collection)
     public List<Playlist> getAllPlaylists() {
         logger.info("📋 Fetching all playlists");
         List<Playlist> playlists = playlistRepository.findAll();
         logger.info("📊 Found {} playlists", playlists.size());
         return playlists;
     }
+
+    // Get one slice of playlists, ordered by ID (Admin only)
+    public Slice<Playlist> getPlaylists(int page, int size) {
+        logger.info("📋 Fetching playlists page {} (size {})", page, size);
+        Slice<Playlist> playlists = playlistRepository.findAllBy(PageRequest.of(page, size, Sort.by("id")));
+        logger.info("📊 Fetched {} playlists, more available: {}", playlists.getNumberOfElements(), playlists.hasNext());
+        return playlists;
+    }
+
+    // Stream every playlist through a cursor; callers must close the stream
+    public Stream<Playlist> streamAllPlaylists() {
+        logger.info("📋 Streaming all playlists from database");
+        return playlistRepository.streamAllBy();
+    }
 }
 
 
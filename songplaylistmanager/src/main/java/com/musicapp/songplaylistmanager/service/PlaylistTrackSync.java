@@ -0,0 +1,186 @@
+package com.musicapp.songplaylistmanager.service;
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps the track summaries embedded in playlists (Playlist.tracks) in step with the songs.
+// The updates are pipeline updates that recompute totalDuration from the tracks in the same
+// write, so the total can never drift from the summaries it adds up.
+@Component
+public class PlaylistTrackSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaylistTrackSync.class);
+
+    // Recomputes totalDuration from tracks; runs as the last stage of every update below
+    private static final AggregationOperation SUM_DURATIONS =
+            context -> new Document("$set", new Document("totalDuration", new Document("$sum", "$tracks.duration")));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.playlists.track-refresh-batch-size:1000}")
+    private int batchSize;
+
+    // Refreshes of the same song run one at a time (striped by song ID) and each re-reads the
+    // song, so whichever runs last writes the latest title/artist/duration
+    private final ReentrantLock[] refreshLocks = new ReentrantLock[64];
+
+    public PlaylistTrackSync() {
+        for (int i = 0; i < refreshLocks.length; i++) {
+            refreshLocks[i] = new ReentrantLock();
+        }
+    }
+
+    // Update taking a song out of songIds and tracks, for one playlist or many
+    public static AggregationUpdate removeSong(String songId) {
+        AggregationOperation remove = context -> new Document("$set", new Document()
+                .append("songIds", withoutElement("$songIds", "$$this", songId))
+                .append("tracks", withoutElement("$tracks", "$$this.songId", songId))
+                .append("updatedDate", "$$NOW"));
+        return AggregationUpdate.from(List.of(remove, SUM_DURATIONS));
+    }
+
+    // Rewrite the summary of a song whose title, artist or duration changed, in every playlist
+    // holding it. Runs in the background: a popular song can sit in a great many playlists.
+    @Async
+    public void refreshSongAsync(String songId) {
+        try {
+            long updated = refreshSong(songId);
+            logger.info("🔁 Refreshed song {} in {} playlists", songId, updated);
+        } catch (RuntimeException e) {
+            logger.error("❌ Failed to refresh playlist tracks for song {}: {}", songId, e.getMessage());
+        }
+    }
+
+    // Reads the song as it is now, not as the triggering edit saw it: two quick edits can have
+    // their refreshes run out of order
+    public long refreshSong(String songId) {
+        ReentrantLock lock = lockFor(songId);
+        lock.lock();
+        try {
+            Song song = findSummaryFields(songId);
+            if (song == null) {
+                // Deleted meanwhile; SongReferenceCleaner takes it out of the playlists
+                return 0;
+            }
+            return rewriteSummaries(song);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Same as refreshSong for a single playlist, returning it as updated (null if it no longer
+    // holds the song). For writers that may have added a summary after an edit's refresh ran.
+    public Playlist refreshSongIn(String playlistId, String songId) {
+        ReentrantLock lock = lockFor(songId);
+        lock.lock();
+        try {
+            Song song = findSummaryFields(songId);
+            if (song == null) {
+                return null;
+            }
+            return mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(playlistId).and("songIds").is(songId)),
+                    AggregationUpdate.from(List.of(replaceSummary(song), SUM_DURATIONS)),
+                    FindAndModifyOptions.options().returnNew(true),
+                    Playlist.class);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The fields a summary is built from, read from MongoDB rather than the songs cache
+    public Song findSummaryFields(String songId) {
+        Query query = Query.query(Criteria.where("_id").is(songId));
+        query.fields().include("title", "artist", "duration");
+        return mongoTemplate.findOne(query, Song.class);
+    }
+
+    // Summaries of many songs, keyed by ID, in one projected $in query
+    public Map<String, Song> findSummaryFields(Collection<String> songIds) {
+        Query query = Query.query(Criteria.where("_id").in(songIds));
+        query.fields().include("title", "artist", "duration");
+        Map<String, Song> songsById = new HashMap<>();
+        for (Song song : mongoTemplate.find(query, Song.class)) {
+            songsById.put(song.getId(), song);
+        }
+        return songsById;
+    }
+
+    private ReentrantLock lockFor(String songId) {
+        return refreshLocks[Math.floorMod(songId.hashCode(), refreshLocks.length)];
+    }
+
+    // Walks the matching playlists in _id order, batch-size at a time, so each write stays bounded
+    private long rewriteSummaries(Song song) {
+        AggregationUpdate update = AggregationUpdate.from(List.of(replaceSummary(song), SUM_DURATIONS));
+        long updated = 0;
+        Object lastId = null;
+        while (true) {
+            Criteria criteria = Criteria.where("songIds").is(song.getId());
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query batch = Query.query(criteria).with(Sort.by("_id")).limit(batchSize);
+            batch.fields().include("_id");
+            List<Object> ids = mongoTemplate.find(batch, Document.class, mongoTemplate.getCollectionName(Playlist.class))
+                    .stream()
+                    .map(document -> document.get("_id"))
+                    .toList();
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            updated += mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)), update, Playlist.class)
+                    .getModifiedCount();
+            if (ids.size() < batchSize) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        return updated;
+    }
+
+    // $map over tracks replacing this song's entry. Values go in as $literal so a title
+    // starting with '$' is not read as a field path.
+    private static AggregationOperation replaceSummary(Song song) {
+        Document summary = new Document()
+                .append("songId", song.getId())
+                .append("title", song.getTitle())
+                .append("artist", song.getArtist())
+                .append("duration", song.getDuration());
+        Document tracks = new Document("$map", new Document()
+                .append("input", "$tracks")
+                .append("in", new Document("$cond", List.of(
+                        new Document("$eq", List.of("$$this.songId", new Document("$literal", song.getId()))),
+                        new Document("$literal", summary),
+                        "$$this"))));
+        return context -> new Document("$set", new Document("tracks", tracks));
+    }
+
+    private static Document withoutElement(String array, String element, String value) {
+        return new Document("$filter", new Document()
+                .append("input", array)
+                .append("cond", new Document("$ne", List.of(element, new Document("$literal", value)))));
+    }
+}
@@ -0,0 +1,204 @@
+package com.musicapp.songplaylistmanager.service;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.musicapp.songplaylistmanager.config.MetricsConfig;
+import com.musicapp.songplaylistmanager.dto.ImportReport;
+import com.musicapp.songplaylistmanager.event.SongChangedEvent;
+import com.musicapp.songplaylistmanager.importer.ImportFormat;
+import com.musicapp.songplaylistmanager.importer.SongFileReader;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Bulk song import from CSV/JSONL files (Admin only).
+// Rows are streamed from the file, validated against the Song constraints and
+// written as unordered bulk inserts, so one bad row never stops its batch.
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class SongImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SongImportService.class);
+
+    @Autowired
+    private UserRoleResolver userRoleResolver;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.import.max-reported-rejects:100}")
+    private int maxReportedRejects;
+
+    // Import a file, picking the format from its extension
+    public ImportReport importSongs(Path file, String adminUserId, Consumer<ImportReport> progressListener) {
+        ImportFormat format = ImportFormat.fromFileName(file.getFileName().toString());
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importSongs(reader, format, file.toString(), adminUserId, progressListener);
+        } catch (IOException e) {
+            logger.error("❌ Could not read import file {}: {}", file, e.getMessage());
+            throw new UncheckedIOException("Could not read import file: " + e.getMessage(), e);
+        }
+    }
+
+    // Import songs from any reader; progressListener receives a report after every batch
+    public ImportReport importSongs(Reader source, ImportFormat format, String sourceName,
+                                    String adminUserId, Consumer<ImportReport> progressListener) {
+        logger.info("📥 Importing songs from {} ({}, batches of {})", sourceName, format, batchSize);
+
+        // Verify admin privileges once for the whole job
+        userRoleResolver.requireAdmin(adminUserId, "import songs");
+
+        ImportJob job = new ImportJob(sourceName, progressListener);
+        try (SongFileReader reader = new SongFileReader(source, format, objectMapper)) {
+            SongFileReader.Row row;
+            while ((row = reader.next()) != null) {
+                job.processed++;
+                String problem = row.error() != null ? row.error() : validate(row.song());
+                if (problem != null) {
+                    job.reject(row.lineNumber(), problem);
+                    continue;
+                }
+
+                job.add(row);
+                if (job.batch.size() >= batchSize) {
+                    job.flush();
+                }
+            }
+            job.flush();
+        } catch (IOException e) {
+            logger.error("❌ Import from {} failed after {} rows: {}", sourceName, job.processed, e.getMessage());
+            throw new UncheckedIOException("Import failed: " + e.getMessage(), e);
+        }
+
+        ImportReport report = job.report(true);
+        progressListener.accept(report);
+        logger.info("✅ Imported {} of {} songs from {} in {} ms ({} rejected)",
+                report.getInserted(), report.getProcessed(), sourceName,
+                report.getElapsed().toMillis(), report.getRejected());
+        return report;
+    }
+
+    private String validate(Song song) {
+        Set<ConstraintViolation<Song>> violations = validator.validate(song);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Mutable state of one running import
+    private class ImportJob {
+
+        private final String sourceName;
+        private final Consumer<ImportReport> progressListener;
+        private final long startedAt = System.nanoTime();
+        private final List<Song> batch = new ArrayList<>(batchSize);
+        private final List<Long> batchLines = new ArrayList<>(batchSize);
+        private final List<ImportReport.Rejection> rejections = new ArrayList<>();
+        private long processed;
+        private long inserted;
+        private long rejected;
+
+        private ImportJob(String sourceName, Consumer<ImportReport> progressListener) {
+            this.sourceName = sourceName;
+            this.progressListener = progressListener;
+        }
+
+        private void add(SongFileReader.Row row) {
+            Song song = row.song();
+            // Assign IDs up front so every inserted song can be reported to listeners
+            if (song.getId() == null || song.getId().isBlank()) {
+                song.setId(new ObjectId().toHexString());
+            }
+            batch.add(song);
+            batchLines.add(row.lineNumber());
+        }
+
+        private void reject(long lineNumber, String reason) {
+            rejected++;
+            if (rejections.size() < maxReportedRejects) {
+                rejections.add(new ImportReport.Rejection(lineNumber, reason));
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Song.class);
+            operations.insert(batch);
+            try {
+                inserted += operations.execute().getInsertedCount();
+            } catch (BulkOperationException e) {
+                // Unordered: everything except the failed rows was written
+                inserted += e.getResult().getInsertedCount();
+                Set<Integer> failed = new HashSet<>();
+                for (BulkWriteError error : e.getErrors()) {
+                    failed.add(error.getIndex());
+                    reject(batchLines.get(error.getIndex()), error.getMessage());
+                }
+                // Save events are only emitted for fully successful batches
+                for (int i = 0; i < batch.size(); i++) {
+                    if (!failed.contains(i)) {
+                        eventPublisher.publishEvent(SongChangedEvent.saved(SongImportService.this, batch.get(i)));
+                    }
+                }
+            }
+
+            batch.clear();
+            batchLines.clear();
+
+            ImportReport progress = report(false);
+            logger.info("📊 Import progress for {}: {} processed, {} inserted, {} rejected",
+                    sourceName, processed, inserted, rejected);
+            progressListener.accept(progress);
+        }
+
+        private ImportReport report(boolean finished) {
+            return new ImportReport(sourceName, processed, inserted, rejected, List.copyOf(rejections),
+                    Duration.ofNanos(System.nanoTime() - startedAt), finished);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.musicapp.songplaylistmanager.service;
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Removes a deleted song's ID from every playlist (songIds and its track summary) and every
+// liker (likedSongs).
+// Works in batches: each round reads up to batch-size matching _ids through the multikey
+// index and pulls the song from exactly those documents with one updateMulti, so no single
+// write grows with the song's popularity.
+// Each delete is recorded in pendingSongCleanups until its cleanup completes, and a scheduled
+// job retries the ones left behind, so a failure never leaves dangling references for good.
+@Component
+public class SongReferenceCleaner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SongReferenceCleaner.class);
+
+    // One marker per deleted song whose references have not all been removed yet
+    static final String PENDING_CLEANUPS_COLLECTION = "pendingSongCleanups";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.songs.delete.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.songs.delete.retry-interval-ms:300000}")
+    private long retryIntervalMs;
+
+    private Counter playlistReferencesRemoved;
+    private Counter likerReferencesRemoved;
+
+    @PostConstruct
+    void registerMeters() {
+        playlistReferencesRemoved = removedCounter("songIds");
+        likerReferencesRemoved = removedCounter("likedSongs");
+    }
+
+    private Counter removedCounter(String field) {
+        return Counter.builder("app.songs.references.removed")
+                .tag("field", field)
+                .description("Song references pulled after song deletes")
+                .register(meterRegistry);
+    }
+
+    // Marks songId as deleted but not yet cleaned up; the marker stays until removeReferences
+    // completes, so a cleanup lost to a failure or a restart is picked up by retryPendingCleanups
+    public void recordPending(String songId) {
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(songId)),
+                new Update().set("deletedAt", LocalDateTime.now()),
+                PENDING_CLEANUPS_COLLECTION);
+    }
+
+    // Pull the song from playlists and likers, returns the number of documents changed
+    public long removeReferences(String songId) {
+        long playlists = pullEverywhere(Playlist.class, "songIds", songId, PlaylistTrackSync.removeSong(songId));
+        long users = pullEverywhere(User.class, "likedSongs", songId, new Update().pull("likedSongs", songId));
+        return completed(songId, playlists, users);
+    }
+
+    // Cleans up inline when fewer than limit playlists and likers reference the song, pulling
+    // it from the documents found by the same reads that decide; returns false, without
+    // writing anything, when the song is referenced too widely for that
+    public boolean removeReferencesIfFewerThan(String songId, int limit) {
+        List<Object> playlistIds = findReferencing(Playlist.class, "songIds", songId, limit);
+        if (playlistIds.size() >= limit) {
+            return false;
+        }
+        List<Object> userIds = findReferencing(User.class, "likedSongs", songId, limit - playlistIds.size());
+        if (playlistIds.size() + userIds.size() >= limit) {
+            return false;
+        }
+        long playlists = pull(Playlist.class, playlistIds, PlaylistTrackSync.removeSong(songId));
+        long users = pull(User.class, userIds, new Update().pull("likedSongs", songId));
+        completed(songId, playlists, users);
+        return true;
+    }
+
+    // Same as removeReferences on a background thread, for songs referenced too widely
+    // to clean up within the delete request
+    @Async
+    public void removeReferencesAsync(String songId) {
+        try {
+            removeReferences(songId);
+        } catch (RuntimeException e) {
+            logger.error("❌ Failed to remove references to deleted song {}, will retry: {}", songId, e.getMessage());
+        }
+    }
+
+    // Finishes cleanups whose marker is older than one interval (from earlier runs, or ones
+    // that failed). One still running in the background may be picked up as well; pulling
+    // an ID that is already gone changes nothing, so that only repeats work.
+    @Scheduled(fixedDelayString = "${app.songs.delete.retry-interval-ms:300000}",
+            initialDelayString = "${app.songs.delete.retry-initial-delay-ms:60000}")
+    public void retryPendingCleanups() {
+        Query pending = Query.query(Criteria.where("deletedAt").lt(LocalDateTime.now().minus(Duration.ofMillis(retryIntervalMs))));
+        for (Document marker : mongoTemplate.find(pending, Document.class, PENDING_CLEANUPS_COLLECTION)) {
+            String songId = marker.getString("_id");
+            try {
+                if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(songId)), Song.class)) {
+                    // The delete itself failed after the marker was written; nothing to clean up
+                    removePending(songId);
+                } else {
+                    logger.info("🔁 Retrying reference cleanup for deleted song {}", songId);
+                    removeReferences(songId);
+                }
+            } catch (RuntimeException e) {
+                logger.error("❌ Retry of reference cleanup for song {} failed: {}", songId, e.getMessage());
+            }
+        }
+    }
+
+    private long completed(String songId, long playlists, long users) {
+        playlistReferencesRemoved.increment(playlists);
+        likerReferencesRemoved.increment(users);
+        removePending(songId);
+        logger.info("🧹 Removed song {} from {} playlists and {} users", songId, playlists, users);
+        return playlists + users;
+    }
+
+    private void removePending(String songId) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(songId)), PENDING_CLEANUPS_COLLECTION);
+    }
+
+    private long pullEverywhere(Class<?> entityClass, String field, String songId, UpdateDefinition pull) {
+        long changed = 0;
+        while (true) {
+            List<Object> ids = findReferencing(entityClass, field, songId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            changed += pull(entityClass, ids, pull);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return changed;
+    }
+
+    // _ids of up to limit documents whose field holds the song, read through the multikey index
+    private List<Object> findReferencing(Class<?> entityClass, String field, String songId, int limit) {
+        Query query = Query.query(Criteria.where(field).is(songId)).limit(limit);
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(entityClass))
+                .stream()
+                .map(document -> document.get("_id"))
+                .toList();
+    }
+
+    // One updateMulti per batch-size IDs
+    private long pull(Class<?> entityClass, List<Object> ids, UpdateDefinition pull) {
+        long changed = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Object> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            changed += mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(batch)),
+                    pull,
+                    entityClass).getModifiedCount();
+        }
+        return changed;
+    }
+}
@@ -1,38 +1,145 @@
 package com.musicapp.songplaylistmanager.service;
 
 
+import com.musicapp.songplaylistmanager.catalog.ColumnarSongCatalog;
+import com.musicapp.songplaylistmanager.config.CacheConfig;
+import com.musicapp.songplaylistmanager.config.MetricsConfig;
+import com.musicapp.songplaylistmanager.dto.SongLookupResult;
+import com.musicapp.songplaylistmanager.dto.SongRank;
+import com.musicapp.songplaylistmanager.event.SongLikeChangedEvent;
+import com.musicapp.songplaylistmanager.leaderboard.SongLeaderboard;
 import com.musicapp.songplaylistmanager.model.Song.Song;
 import com.musicapp.songplaylistmanager.model.Song.User;
 import com.musicapp.songplaylistmanager.repository.SongRepository;
 import com.musicapp.songplaylistmanager.repository.UserRepository;
+import com.musicapp.songplaylistmanager.search.SongSearchIndex;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class SongService {
 
     private static final Logger logger = LoggerFactory.getLogger(SongService.class);
 
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 50;
+    private static final int DEFAULT_LEADERBOARD_SIZE = 10;
+
     @Autowired
     private SongRepository songRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserRoleResolver userRoleResolver;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SongSearchIndex songSearchIndex;
+
+    @Autowired
+    private SongLeaderboard songLeaderboard;
+
+    // Only present when app.catalog.columnar.enabled=true
+    @Autowired(required = false)
+    private ColumnarSongCatalog columnarCatalog;
+
+    @Autowired
+    private SongReferenceCleaner songReferenceCleaner;
+
+    @Autowired
+    private PlaylistTrackSync playlistTrackSync;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.songs.delete.async-threshold:10000}")
+    private int deleteAsyncThreshold;
+
+    // Registered once in registerMeters(); the hot paths only record
+    private DistributionSummary lookupBatchSizes;
+    private Counter lookupCacheHits;
+    private Counter lookupCacheMisses;
+    private Counter likes;
+    private Counter unlikes;
+    private DistributionSummary searchResults;
+
+    @PostConstruct
+    void registerMeters() {
+        lookupBatchSizes = DistributionSummary.builder("app.songs.lookup.batch")
+                .description("Song IDs resolved per batch lookup")
+                .register(meterRegistry);
+        lookupCacheHits = Counter.builder("app.songs.lookup.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        lookupCacheMisses = Counter.builder("app.songs.lookup.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        likes = likeCounter("like");
+        unlikes = likeCounter("unlike");
+        searchResults = DistributionSummary.builder("app.search.results")
+                .description("Matches counted per search query (a lower bound when the search stopped early)")
+                .register(meterRegistry);
+    }
+
+    private Counter likeCounter(String action) {
+        return Counter.builder("app.songs.likes")
+                .tag("action", action)
+                .description("Like toggles applied")
+                .register(meterRegistry);
+    }
+
     // Create new song (Admin only)
     public Song createSong(Song song, String adminUserId) {
         logger.info("🎵 Creating new song: {} by {}", song.getTitle(), song.getArtist());
 
-        // Verify admin privileges
-        Optional<User> admin = userRepository.findById(adminUserId);
-        if (admin.isEmpty() || !admin.get().isAdmin()) {
-            logger.error("❌ Unauthorized: Only admins can create songs");
-            throw new RuntimeException("Only admins can create songs");
-        }
+        // Verify admin privileges (cached role lookup)
+        userRoleResolver.requireAdmin(adminUserId, "create songs");
 
         Song savedSong = songRepository.save(song);
         logger.info("✅ Song created successfully with ID: {}", savedSong.getId());
@@ -40,7 +147,7 @@ public class SongService {
         return savedSong;
     }
 
-    // Get all songs
+    // Get all songs (loads the whole collection, prefer getSongs/streamAllSongs for listings)
     public List<Song> getAllSongs() {
         logger.info("📋 Fetching all songs from database");
         List<Song> songs = songRepository.findAll();
@@ -48,13 +155,29 @@ public class SongService {
         return songs;
     }
 
-    // Get song by ID
+    // Get one slice of songs, ordered by ID
+    public Slice<Song> getSongs(int page, int size) {
+        logger.info("📋 Fetching songs page {} (size {})", page, size);
+        Slice<Song> songs = songRepository.findAllBy(PageRequest.of(page, size, Sort.by("id")));
+        logger.info("📊 Fetched {} songs, more available: {}", songs.getNumberOfElements(), songs.hasNext());
+        return songs;
+    }
+
+    // Stream every song through a cursor; callers must close the stream
+    public Stream<Song> streamAllSongs() {
+        logger.info("📋 Streaming all songs from database");
+        return songRepository.streamAllBy();
+    }
+
+    // Get song by ID (served from the songs cache when present)
+    // Hot path (called per track when expanding playlists), so success is only logged at DEBUG
+    @Cacheable(cacheNames = CacheConfig.SONGS_CACHE, unless = "#result == null")
     public Optional<Song> getSongById(String id) {
-        logger.info("🔍 Searching for song with ID: {}", id);
+        logger.debug("🔍 Searching for song with ID: {}", id);
         Optional<Song> song = songRepository.findById(id);
 
         if (song.isPresent()) {
-            logger.info("✅ Song found: {}", song.get().getTitle());
+            logger.debug("✅ Song found: {}", song.get().getTitle());
         } else {
             logger.warn("❌ Song not found with ID: {}", id);
         }
@@ -62,16 +185,57 @@ public class SongService {
         return song;
     }
 
+    // Get many songs by ID in one round trip, keeping the requested order.
+    // Cached songs are reused and only the rest are fetched with a single $in query.
+    public SongLookupResult getSongsByIds(Collection<String> ids) {
+        List<String> requestedIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (requestedIds.isEmpty()) {
+            return new SongLookupResult(requestedIds, Map.of());
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.SONGS_CACHE);
+        Map<String, Song> songsById = new HashMap<>(requestedIds.size() * 2);
+        List<String> uncachedIds = new ArrayList<>();
+        for (String id : requestedIds) {
+            Song cached = cache != null ? cache.get(id, Song.class) : null;
+            if (cached != null) {
+                songsById.put(id, cached);
+            } else {
+                uncachedIds.add(id);
+            }
+        }
+
+        if (!uncachedIds.isEmpty()) {
+            for (Song song : songRepository.findByIdIn(uncachedIds)) {
+                songsById.put(song.getId(), song);
+                if (cache != null) {
+                    cache.put(song.getId(), song);
+                }
+            }
+        }
+
+        lookupBatchSizes.record(requestedIds.size());
+        lookupCacheHits.increment(requestedIds.size() - uncachedIds.size());
+        lookupCacheMisses.increment(uncachedIds.size());
+
+        SongLookupResult result = new SongLookupResult(requestedIds, songsById);
+        if (result.hasMissing()) {
+            logger.warn("⚠️ Resolved {} of {} songs, missing IDs: {}",
+                    songsById.size(), requestedIds.size(), result.getMissingIds());
+        } else {
+            logger.debug("📊 Resolved {} songs in one batch ({} from cache)",
+                    songsById.size(), requestedIds.size() - uncachedIds.size());
+        }
+        return result;
+    }
+
     // Update song (Admin only)
+    @CachePut(cacheNames = CacheConfig.SONGS_CACHE, key = "#id")
     public Song updateSong(String id, Song updatedSong, String adminUserId) {
         logger.info("🔄 Updating song with ID: {}", id);
 
-        // Verify admin privileges
-        Optional<User> admin = userRepository.findById(adminUserId);
-        if (admin.isEmpty() || !admin.get().isAdmin()) {
-            logger.error("❌ Unauthorized: Only admins can update songs");
-            throw new RuntimeException("Only admins can update songs");
-        }
+        // Verify admin privileges (cached role lookup)
+        userRoleResolver.requireAdmin(adminUserId, "update songs");
 
         Optional<Song> existingSong = songRepository.findById(id);
         if (existingSong.isEmpty()) {
@@ -80,6 +244,9 @@ public class SongService {
         }
 
         Song song = existingSong.get();
+        boolean summaryChanged = !Objects.equals(song.getTitle(), updatedSong.getTitle())
+                || !Objects.equals(song.getArtist(), updatedSong.getArtist())
+                || !Objects.equals(song.getDuration(), updatedSong.getDuration());
         song.setTitle(updatedSong.getTitle());
         song.setArtist(updatedSong.getArtist());
         song.setAlbum(updatedSong.getAlbum());
@@ -89,19 +256,25 @@ public class SongService {
         Song savedSong = songRepository.save(song);
         logger.info("✅ Song updated successfully: {}", savedSong.getTitle());
 
+        if (summaryChanged) {
+            // Playlists embed title/artist/duration; rewriting them can touch many documents
+            playlistTrackSync.refreshSongAsync(id);
+        }
+
         return savedSong;
     }
 
     // Delete song (Admin only)
+    // Also pulls the ID out of every playlist and liker. Songs referenced by fewer than
+    // app.songs.delete.async-threshold documents are cleaned up before returning; more
+    // popular ones are cleaned up in the background, in bounded batches either way, and
+    // retried by SongReferenceCleaner until they complete.
+    @CacheEvict(cacheNames = CacheConfig.SONGS_CACHE, key = "#id")
     public void deleteSong(String id, String adminUserId) {
         logger.info("🗑️ Deleting song with ID: {}", id);
 
-        // Verify admin privileges
-        Optional<User> admin = userRepository.findById(adminUserId);
-        if (admin.isEmpty() || !admin.get().isAdmin()) {
-            logger.error("❌ Unauthorized: Only admins can delete songs");
-            throw new RuntimeException("Only admins can delete songs");
-        }
+        // Verify admin privileges (cached role lookup)
+        userRoleResolver.requireAdmin(adminUserId, "delete songs");
 
         Optional<Song> song = songRepository.findById(id);
         if (song.isEmpty()) {
@@ -109,70 +282,195 @@ public class SongService {
             throw new RuntimeException("Song not found");
         }
 
+        // Recorded first, so the references are removed eventually even if this instance
+        // stops or the cleanup below fails
+        songReferenceCleaner.recordPending(id);
         songRepository.deleteById(id);
         logger.info("✅ Song deleted successfully: {}", song.get().getTitle());
+
+        if (!songReferenceCleaner.removeReferencesIfFewerThan(id, deleteAsyncThreshold)) {
+            logger.info("🧹 Song {} is widely referenced, removing references in the background", id);
+            songReferenceCleaner.removeReferencesAsync(id);
+        }
     }
 
     // Like/Unlike song
+    // Flips the user's like with a guarded $addToSet/$pull and only then
+    // moves likeCount with $inc, so concurrent toggles never lose updates.
+    // Evicts rather than caching the result: two concurrent toggles can return out of order,
+    // and putting the older one last would keep a stale like count cached
+    @CacheEvict(cacheNames = CacheConfig.SONGS_CACHE, key = "#songId")
     public Song toggleLikeSong(String songId, String userId) {
         logger.info("❤️ Toggling like for song ID: {} by user: {}", songId, userId);
 
-        Optional<Song> songOpt = songRepository.findById(songId);
-        Optional<User> userOpt = userRepository.findById(userId);
-
-        if (songOpt.isEmpty()) {
-            logger.error("❌ Song not found with ID: {}", songId);
-            throw new RuntimeException("Song not found");
+        boolean liked = true;
+        UpdateResult userUpdate = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(userId).and("likedSongs").ne(songId)),
+                new Update().addToSet("likedSongs", songId),
+                User.class);
+
+        if (userUpdate.getMatchedCount() == 0) {
+            liked = false;
+            userUpdate = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(userId).and("likedSongs").is(songId)),
+                    new Update().pull("likedSongs", songId),
+                    User.class);
         }
 
-        if (userOpt.isEmpty()) {
+        if (userUpdate.getMatchedCount() == 0) {
+            if (userRepository.existsById(userId)) {
+                // Another request flipped the like between our two updates
+                logger.warn("⚠️ Concurrent like change for song {} by user {}", songId, userId);
+                throw new RuntimeException("Like status changed concurrently, please try again");
+            }
             logger.error("❌ User not found with ID: {}", userId);
             throw new RuntimeException("User not found");
         }
 
-        Song song = songOpt.get();
-        User user = userOpt.get();
+        Criteria songCriteria = Criteria.where("_id").is(songId);
+        if (!liked) {
+            songCriteria = songCriteria.and("likeCount").gt(0);
+        }
 
-        if (user.hasLikedSong(songId)) {
-            // Unlike the song
-            user.unlikeSong(songId);
-            song.decrementLikeCount();
-            logger.info("💔 User unliked song: {}", song.getTitle());
-        } else {
-            // Like the song
-            user.likeSong(songId);
-            song.incrementLikeCount();
-            logger.info("❤️ User liked song: {}", song.getTitle());
+        Song savedSong = mongoTemplate.findAndModify(
+                Query.query(songCriteria),
+                new Update().inc("likeCount", liked ? 1 : -1).inc("likeVersion", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Song.class);
+
+        if (savedSong == null) {
+            if (liked) {
+                // Song does not exist, take the like back off the user
+                mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(userId)),
+                        new Update().pull("likedSongs", songId),
+                        User.class);
+                logger.error("❌ Song not found with ID: {}", songId);
+                throw new RuntimeException("Song not found");
+            }
+
+            // Unlike on a song already at zero likes (or a deleted song)
+            savedSong = songRepository.findById(songId)
+                    .orElseThrow(() -> {
+                        logger.error("❌ Song not found with ID: {}", songId);
+                        return new RuntimeException("Song not found");
+                    });
         }
 
-        userRepository.save(user);
-        Song savedSong = songRepository.save(song);
+        if (liked) {
+            logger.info("❤️ User liked song: {}", savedSong.getTitle());
+        } else {
+            logger.info("💔 User unliked song: {}", savedSong.getTitle());
+        }
         logger.info("✅ Like status updated. Current likes: {}", savedSong.getLikeCount());
+        (liked ? likes : unlikes).increment();
+        eventPublisher.publishEvent(new SongLikeChangedEvent(this, savedSong, liked));
 
         return savedSong;
     }
 
-    // Search songs
+    // Search songs (first page of results)
     public List<Song> searchSongs(String query) {
-        logger.info("🔍 Searching songs with query: {}", query);
-        List<Song> songs = songRepository.searchByTitleOrArtist(query);
-        logger.info("📊 Found {} songs matching query", songs.size());
-        return songs;
+        return searchSongs(query, 0, DEFAULT_SEARCH_PAGE_SIZE).getContent();
+    }
+
+    // Search songs by title, artist, album or genre, ranked by relevance
+    public Page<Song> searchSongs(String query, int page, int size) {
+        logger.info("🔍 Searching songs with query: {} (page {}, size {})", query, page, size);
+        Pageable pageable = PageRequest.of(page, size);
+
+        Page<String> ids = songSearchIndex.search(query, pageable);
+        List<Song> songs = ids.isEmpty() ? List.of() : getSongsByIds(ids.getContent()).getSongs();
+
+        logger.info("📊 Found {} songs matching query", ids.getTotalElements());
+        searchResults.record(ids.getTotalElements());
+        return new PageImpl<>(songs, pageable, ids.getTotalElements());
     }
 
     // Get most liked songs
     public List<Song> getMostLikedSongs() {
-        logger.info("🏆 Fetching most liked songs");
-        List<Song> songs = songRepository.findTop10ByOrderByLikeCountDesc();
+        return getMostLikedSongs(null, DEFAULT_LEADERBOARD_SIZE);
+    }
+
+    // Get the top songs by likes, optionally within one genre.
+    // Served from the in-memory leaderboard and the songs cache; MongoDB is only
+    // queried if the leaderboard failed to load or a song dropped out of the cache.
+    public List<Song> getMostLikedSongs(String genre, int limit) {
+        logger.info("🏆 Fetching {} most liked songs (genre: {})", limit, genre);
+        List<Song> songs;
+        if (columnarCatalogReady()) {
+            songs = columnarCatalog.findMostLiked(genre, limit);
+        } else if (songLeaderboard.isReady()) {
+            List<String> ids = genre == null
+                    ? songLeaderboard.topSongIds(limit)
+                    : songLeaderboard.topSongIds(genre, limit);
+            songs = getSongsByIds(ids).getSongs();
+        } else {
+            logger.warn("⚠️ Leaderboard not ready, querying most liked songs from database");
+            PageRequest page = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "likeCount"));
+            songs = genre == null
+                    ? songRepository.findAllBy(page).getContent()
+                    : songRepository.findByGenreKeyOrderByLikeCountDesc(TextNormalizer.normalize(genre), page);
+        }
         logger.info("📊 Retrieved {} most liked songs", songs.size());
         return songs;
     }
 
-    // Get songs by genre
+    // Get a song's position on the most-liked leaderboard
+    public SongRank getSongRank(String songId) {
+        return songLeaderboard.rankOf(songId)
+                .orElseThrow(() -> {
+                    logger.error("❌ Song not found with ID: {}", songId);
+                    return new RuntimeException("Song not found");
+                });
+    }
+
+    // Get songs by genre (case and accents ignored)
     public List<Song> getSongsByGenre(String genre) {
         logger.info("🎼 Fetching songs by genre: {}", genre);
-        List<Song> songs = songRepository.findByGenreIgnoreCase(genre);
+        List<Song> songs = columnarCatalogReady()
+                ? columnarCatalog.findByGenre(genre)
+                : songRepository.findByGenreKey(TextNormalizer.normalize(genre));
         logger.info("📊 Found {} songs in genre: {}", songs.size(), genre);
         return songs;
     }
+
+    // Get songs whose duration in seconds lies in [minSeconds, maxSeconds]
+    public List<Song> getSongsByDuration(int minSeconds, int maxSeconds) {
+        logger.info("⏱️ Fetching songs between {} and {} seconds", minSeconds, maxSeconds);
+        if (minSeconds > maxSeconds) {
+            throw new RuntimeException("Minimum duration must not exceed maximum duration");
+        }
+        List<Song> songs = columnarCatalogReady()
+                ? columnarCatalog.findByDurationRange(minSeconds, maxSeconds)
+                : songRepository.findByDurationRange(minSeconds, maxSeconds);
+        logger.info("📊 Found {} songs between {} and {} seconds", songs.size(), minSeconds, maxSeconds);
+        return songs;
+    }
+
+    private boolean columnarCatalogReady() {
+        return columnarCatalog != null && columnarCatalog.isReady();
+    }
+
+    // Get songs by artist (case and accents ignored); prefix matches every artist starting with the text
+    public List<Song> getSongsByArtist(String artist, boolean prefix) {
+        logger.info("🎤 Fetching songs by artist: {} (prefix: {})", artist, prefix);
+        String artistKey = TextNormalizer.normalize(artist);
+        if (artistKey == null || artistKey.isEmpty()) {
+            throw new RuntimeException("Artist must not be blank");
+        }
+        List<Song> songs = prefix
+                ? songRepository.findByArtistKeyStartingWith(artistKey)
+                : songRepository.findByArtistKey(artistKey);
+        logger.info("📊 Found {} songs by artist: {}", songs.size(), artist);
+        return songs;
+    }
+
+    // Get songs by album (case and accents ignored)
+    public List<Song> getSongsByAlbum(String album) {
+        logger.info("💿 Fetching songs by album: {}", album);
+        List<Song> songs = songRepository.findByAlbumKey(TextNormalizer.normalize(album));
+        logger.info("📊 Found {} songs on album: {}", songs.size(), album);
+        return songs;
+    }
 }
\ No newline at end of file
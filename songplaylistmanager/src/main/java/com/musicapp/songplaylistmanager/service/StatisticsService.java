@@ -0,0 +1,241 @@
+package com.musicapp.songplaylistmanager.service;
+
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.musicapp.songplaylistmanager.config.MetricsConfig;
+import com.musicapp.songplaylistmanager.dto.CacheStatistics;
+import com.musicapp.songplaylistmanager.dto.OperationTiming;
+import com.musicapp.songplaylistmanager.dto.SystemStatistics;
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Role;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import com.musicapp.songplaylistmanager.repository.PlaylistRepository;
+import com.musicapp.songplaylistmanager.repository.SongRepository;
+import com.musicapp.songplaylistmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class StatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.stats.top-liked-limit:10}")
+    private int topLikedLimit;
+
+    @Value("${app.stats.most-active-users-limit:5}")
+    private int mostActiveUsersLimit;
+
+    private volatile SystemStatistics snapshot;
+
+    // A lock rather than synchronized: request threads are virtual and must not pin
+    // their carrier while the aggregations wait on MongoDB
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // Get the latest statistics snapshot, computing it once if none exists yet
+    public SystemStatistics getStatistics() {
+        SystemStatistics current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        refreshLock.lock();
+        try {
+            // Another caller may have computed it while we waited
+            return snapshot != null ? snapshot : refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // The snapshot as it stands, never querying MongoDB; empty until the first refresh
+    public Optional<SystemStatistics> getCurrentStatistics() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    // Recompute every statistic with counts and server-side aggregations
+    @Scheduled(fixedDelayString = "${app.stats.refresh-interval-ms:60000}",
+            initialDelayString = "${app.stats.refresh-interval-ms:60000}")
+    public SystemStatistics refresh() {
+        refreshLock.lock();
+        try {
+            return computeStatistics();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private SystemStatistics computeStatistics() {
+        logger.info("📈 Refreshing system statistics");
+
+        long totalUsers = userRepository.count();
+        long adminUsers = userRepository.countByRole(Role.ADMIN);
+        long totalSongs = songRepository.count();
+        long totalPlaylists = playlistRepository.count();
+
+        SystemStatistics statistics = new SystemStatistics(
+                totalUsers,
+                adminUsers,
+                totalSongs,
+                totalPlaylists,
+                countSongsByGenre(),
+                averagePlaylistLength(),
+                topLikedSongs(),
+                mostActiveUsers(),
+                LocalDateTime.now());
+
+        snapshot = statistics;
+        logger.info("✅ Statistics refreshed: {} users, {} songs, {} playlists", totalUsers, totalSongs, totalPlaylists);
+        return statistics;
+    }
+
+    // Hit/miss/eviction counters for every Caffeine-backed cache
+    public List<CacheStatistics> getCacheStatistics() {
+        List<CacheStatistics> caches = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                caches.add(new CacheStatistics(name, nativeCache.estimatedSize(),
+                        stats.hitCount(), stats.missCount(), stats.evictionCount()));
+            }
+        }
+        return caches;
+    }
+
+    // p50/p99 latency of every service method and repository query seen so far, slowest first
+    public List<OperationTiming> getOperationTimings() {
+        List<OperationTiming> timings = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(MetricsConfig.SERVICE_TIMER).timers()) {
+            timings.add(toOperationTiming("service",
+                    simpleName(timer.getId().getTag("class")) + "." + timer.getId().getTag("method"), timer));
+        }
+        for (Timer timer : meterRegistry.find(MetricsConfig.REPOSITORY_TIMER).timers()) {
+            timings.add(toOperationTiming("repository",
+                    timer.getId().getTag("repository") + "." + timer.getId().getTag("method"), timer));
+        }
+        timings.sort(Comparator.comparingDouble(OperationTiming::getP99Millis).reversed());
+        return timings;
+    }
+
+    private OperationTiming toOperationTiming(String layer, String operation, Timer timer) {
+        String exception = timer.getId().getTag("exception");
+        if (exception != null && !exception.equals("none")) {
+            operation += " [" + exception + "]";
+        }
+
+        HistogramSnapshot histogram = timer.takeSnapshot();
+        double p50 = 0.0;
+        double p99 = 0.0;
+        for (ValueAtPercentile value : histogram.percentileValues()) {
+            if (value.percentile() == 0.5) {
+                p50 = value.value(TimeUnit.MILLISECONDS);
+            } else if (value.percentile() == 0.99) {
+                p99 = value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return new OperationTiming(layer, operation, histogram.count(),
+                histogram.mean(TimeUnit.MILLISECONDS), p50, p99, histogram.max(TimeUnit.MILLISECONDS));
+    }
+
+    private static String simpleName(String className) {
+        return className == null ? "?" : className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private Map<String, Long> countSongsByGenre() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                // Group on the normalized key so "Rock" and "rock" count as one genre
+                Aggregation.group("genreKey").count().as("count").first("genre").as("genre"),
+                Aggregation.sort(Sort.Direction.DESC, "count"));
+
+        Map<String, Long> genres = new LinkedHashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Song.class, Document.class)) {
+            Object genre = row.get("genre");
+            genres.put(genre != null ? genre.toString() : "Unknown", ((Number) row.get("count")).longValue());
+        }
+        return Collections.unmodifiableMap(genres);
+    }
+
+    private double averagePlaylistLength() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.project().and(ArrayOperators.Size.lengthOfArray(
+                        ConditionalOperators.ifNull("songIds").then(Collections.emptyList()))).as("length"),
+                Aggregation.group().avg("length").as("average"));
+
+        Document result = mongoTemplate.aggregate(aggregation, Playlist.class, Document.class).getUniqueMappedResult();
+        if (result == null || result.get("average") == null) {
+            return 0.0;
+        }
+        return ((Number) result.get("average")).doubleValue();
+    }
+
+    private List<Song> topLikedSongs() {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "likeCount"))
+                .limit(topLikedLimit);
+        return List.copyOf(mongoTemplate.find(query, Song.class));
+    }
+
+    private Map<String, Integer> mostActiveUsers() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.project("username").and(ArrayOperators.Size.lengthOfArray(
+                        ConditionalOperators.ifNull("likedSongs").then(Collections.emptyList()))).as("liked"),
+                Aggregation.sort(Sort.Direction.DESC, "liked"),
+                Aggregation.limit(mostActiveUsersLimit));
+
+        Map<String, Integer> users = new LinkedHashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, User.class, Document.class)) {
+            users.put(row.getString("username"), ((Number) row.get("liked")).intValue());
+        }
+        return Collections.unmodifiableMap(users);
+    }
+}
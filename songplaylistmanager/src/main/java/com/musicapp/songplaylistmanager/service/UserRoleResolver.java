@@ -0,0 +1,90 @@
+package com.musicapp.songplaylistmanager.service;
+
+import com.musicapp.songplaylistmanager.config.CacheConfig;
+import com.musicapp.songplaylistmanager.event.UserChangedEvent;
+import com.musicapp.songplaylistmanager.model.Song.Role;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// Resolves user roles for admin checks through the userRoles cache, so admin catalog
+// operations do not read the user document on every call. UserService.updateUser evicts
+// the user's entry, a restore of the users collection clears the cache, and changes made
+// by other instances arrive as UserChangedEvents when change streams are enabled.
+@Component
+public class UserRoleResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserRoleResolver.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Role of the user, empty if the user does not exist (unknown users are not cached)
+    public Optional<Role> getRole(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.USER_ROLES_CACHE);
+        Role cached = cache != null ? cache.get(userId, Role.class) : null;
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Query query = Query.query(Criteria.where("_id").is(userId));
+        query.fields().include("role");
+        User user = mongoTemplate.findOne(query, User.class);
+        if (user == null || user.getRole() == null) {
+            return Optional.empty();
+        }
+        if (cache != null) {
+            cache.put(userId, user.getRole());
+        }
+        return Optional.of(user.getRole());
+    }
+
+    public boolean isAdmin(String userId) {
+        return getRole(userId).filter(Role.ADMIN::equals).isPresent();
+    }
+
+    // Throws "Only admins can <action>" unless the user is an admin
+    public void requireAdmin(String userId, String action) {
+        if (!isAdmin(userId)) {
+            logger.error("❌ Unauthorized: Only admins can {}", action);
+            throw new RuntimeException("Only admins can " + action);
+        }
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_ROLES_CACHE);
+        if (cache == null) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case SAVED, DELETED -> cache.evict(event.getUserId());
+            case CLEARED -> cache.clear();
+        }
+    }
+
+    // Forget every cached role, e.g. after the users collection was replaced
+    public void clear() {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_ROLES_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
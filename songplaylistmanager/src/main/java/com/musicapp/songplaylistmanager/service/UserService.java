@@ -1,52 +1,214 @@
 package com.musicapp.songplaylistmanager.service;
 
 
+import com.musicapp.songplaylistmanager.config.CacheConfig;
+import com.musicapp.songplaylistmanager.config.MetricsConfig;
+import com.musicapp.songplaylistmanager.dto.RegistrationReport;
 import com.musicapp.songplaylistmanager.model.Song.User;
 import com.musicapp.songplaylistmanager.repository.UserRepository;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+    // MongoDB error code for a unique index violation
+    private static final int DUPLICATE_KEY_CODE = 11000;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRoleResolver userRoleResolver;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.registration.batch-size:1000}")
+    private int registrationBatchSize;
+
+    @Value("${app.registration.max-reported-rejects:100}")
+    private int maxReportedRejects;
+
+    // Set once both unique user indexes have been seen; they are never dropped by the app
+    private volatile boolean uniqueIndexesVerified;
+
     // Create new user
+    // A single insert: the unique username/email indexes reject duplicates atomically,
+    // so two concurrent signups for the same name cannot both succeed.
     public User createUser(User user) {
         logger.info("👤 Creating new user: {}", user.getUsername());
 
-        // Check if username exists
-        if (userRepository.existsByUsername(user.getUsername())) {
-            logger.error("❌ Username already exists: {}", user.getUsername());
-            throw new RuntimeException("Username already exists");
-        }
+        requireUniqueIndexes();
 
-        // Check if email exists
-        if (userRepository.existsByEmail(user.getEmail())) {
-            logger.error("❌ Email already exists: {}", user.getEmail());
-            throw new RuntimeException("Email already exists");
+        User savedUser;
+        try {
+            savedUser = mongoTemplate.insert(user);
+        } catch (DuplicateKeyException e) {
+            String message = duplicateKeyMessage(e.getMessage());
+            logger.error("❌ {}: {} / {}", message, user.getUsername(), user.getEmail());
+            throw new RuntimeException(message);
         }
-
-        User savedUser = userRepository.save(user);
         logger.info("✅ User created successfully with ID: {}", savedUser.getId());
 
         return savedUser;
     }
 
+    // Register many users at once (Admin only), in unordered bulk inserts.
+    // Invalid or duplicate accounts are reported and skipped; the rest are registered.
+    public RegistrationReport registerUsers(List<User> users, String adminUserId) {
+        logger.info("👥 Registering {} users in batches of {}", users.size(), registrationBatchSize);
+        userRoleResolver.requireAdmin(adminUserId, "register users in bulk");
+        requireUniqueIndexes();
+
+        RegistrationJob job = new RegistrationJob();
+        for (int position = 0; position < users.size(); position++) {
+            User user = users.get(position);
+            String problem = validate(user);
+            if (problem != null) {
+                job.reject(position, user, problem);
+                continue;
+            }
+            job.add(position, user);
+            if (job.batch.size() >= registrationBatchSize) {
+                job.flush();
+            }
+        }
+        job.flush();
+
+        RegistrationReport report = new RegistrationReport(users.size(), job.registered, job.rejected,
+                List.copyOf(job.rejections), Duration.ofNanos(System.nanoTime() - job.startedAt));
+        logger.info("✅ Registered {} of {} users in {} ms ({} rejected)", report.getRegistered(),
+                report.getRequested(), report.getElapsed().toMillis(), report.getRejected());
+        return report;
+    }
+
+    // Signup has no exists checks, so without the unique username/email indexes duplicates
+    // would be stored silently. Refuse to register anyone until both are in place.
+    private void requireUniqueIndexes() {
+        if (uniqueIndexesVerified) {
+            return;
+        }
+        Set<String> uniqueIndexes = mongoTemplate.indexOps(User.class).getIndexInfo().stream()
+                .filter(IndexInfo::isUnique)
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet());
+        if (!uniqueIndexes.containsAll(List.of(User.USERNAME_INDEX, User.EMAIL_INDEX))) {
+            logger.error("❌ Unique user indexes missing (found {}), refusing to register users", uniqueIndexes);
+            throw new RuntimeException("User registration is unavailable: unique username/email indexes are missing");
+        }
+        uniqueIndexesVerified = true;
+    }
+
+    // Turns a duplicate key error into the message for the field that clashed
+    static String duplicateKeyMessage(String errorMessage) {
+        String message = errorMessage == null ? "" : errorMessage;
+        if (message.contains("index: " + User.USERNAME_INDEX + " ")) {
+            return "Username already exists";
+        }
+        if (message.contains("index: " + User.EMAIL_INDEX + " ")) {
+            return "Email already exists";
+        }
+        return "User already exists";
+    }
+
+    private String validate(User user) {
+        if (user == null) {
+            return "User is required";
+        }
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Mutable state of one bulk registration
+    private class RegistrationJob {
+
+        private final long startedAt = System.nanoTime();
+        private final List<User> batch = new ArrayList<>();
+        private final List<Integer> batchPositions = new ArrayList<>();
+        private final List<RegistrationReport.Rejection> rejections = new ArrayList<>();
+        private long registered;
+        private long rejected;
+
+        private void add(int position, User user) {
+            batch.add(user);
+            batchPositions.add(position);
+        }
+
+        private void reject(int position, User user, String reason) {
+            rejected++;
+            if (rejections.size() < maxReportedRejects) {
+                rejections.add(new RegistrationReport.Rejection(position, user != null ? user.getUsername() : null, reason));
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+            operations.insert(batch);
+            try {
+                registered += operations.execute().getInsertedCount();
+            } catch (BulkOperationException e) {
+                // Unordered: everything except the failed accounts was written
+                registered += e.getResult().getInsertedCount();
+                for (BulkWriteError error : e.getErrors()) {
+                    String reason = error.getCode() == DUPLICATE_KEY_CODE
+                            ? duplicateKeyMessage(error.getMessage())
+                            : error.getMessage();
+                    reject(batchPositions.get(error.getIndex()), batch.get(error.getIndex()), reason);
+                }
+            }
+
+            batch.clear();
+            batchPositions.clear();
+        }
+    }
+
     // Get user by ID
     public Optional<User> getUserById(String id) {
-        logger.info("🔍 Searching for user with ID: {}", id);
+        logger.debug("🔍 Searching for user with ID: {}", id);
         Optional<User> user = userRepository.findById(id);
 
         if (user.isPresent()) {
-            logger.info("✅ User found: {}", user.get().getUsername());
+            logger.debug("✅ User found: {}", user.get().getUsername());
         } else {
             logger.warn("❌ User not found with ID: {}", id);
         }
@@ -60,7 +222,7 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
 
-    // Get all users
+    // Get all users (loads the whole collection, prefer getUsers/streamAllUsers for listings)
     public List<User> getAllUsers() {
         logger.info("📋 Fetching all users");
         List<User> users = userRepository.findAll();
@@ -68,7 +230,22 @@ public class UserService {
         return users;
     }
 
+    // Get one slice of users, ordered by ID
+    public Slice<User> getUsers(int page, int size) {
+        logger.info("📋 Fetching users page {} (size {})", page, size);
+        Slice<User> users = userRepository.findAllBy(PageRequest.of(page, size, Sort.by("id")));
+        logger.info("📊 Fetched {} users, more available: {}", users.getNumberOfElements(), users.hasNext());
+        return users;
+    }
+
+    // Stream every user through a cursor; callers must close the stream
+    public Stream<User> streamAllUsers() {
+        logger.info("📋 Streaming all users from database");
+        return userRepository.streamAllBy();
+    }
+
     // Update user
+    @CacheEvict(cacheNames = CacheConfig.USER_ROLES_CACHE, key = "#id")
     public User updateUser(String id, User updatedUser) {
         logger.info("🔄 Updating user with ID: {}", id);
 
@@ -0,0 +1,53 @@
+package com.musicapp.songplaylistmanager.service.reactive;
+
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.repository.reactive.ReactivePlaylistRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Streaming read side of PlaylistService
+@Service
+@Profile("reactive")
+public class ReactivePlaylistService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePlaylistService.class);
+
+    @Autowired
+    private ReactivePlaylistRepository playlistRepository;
+
+    @Autowired
+    private ReactiveSongService songService;
+
+    // Stream every playlist in ID order
+    public Flux<Playlist> getAllPlaylists() {
+        logger.info("📋 Streaming all playlists from database");
+        return playlistRepository.findAll(Sort.by("id"));
+    }
+
+    // Get playlist by ID
+    public Mono<Playlist> getPlaylistById(String id) {
+        return playlistRepository.findById(id);
+    }
+
+    // Stream all playlists for a user
+    public Flux<Playlist> getUserPlaylists(String userId) {
+        logger.info("📋 Streaming playlists for user ID: {}", userId);
+        return playlistRepository.findByUserId(userId);
+    }
+
+    // Stream the songs of a playlist in playlist order
+    public Flux<Song> getPlaylistSongs(String playlistId) {
+        logger.info("🎶 Streaming songs of playlist {}", playlistId);
+        return playlistRepository.findById(playlistId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Playlist not found")))
+                .flatMapMany(playlist -> songService.getSongsByIds(playlist.getSongIds()));
+    }
+}
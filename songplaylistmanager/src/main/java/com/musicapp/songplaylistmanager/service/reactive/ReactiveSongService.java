@@ -0,0 +1,127 @@
+package com.musicapp.songplaylistmanager.service.reactive;
+
+
+import com.musicapp.songplaylistmanager.config.CacheConfig;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.repository.reactive.ReactiveSongRepository;
+import com.musicapp.songplaylistmanager.search.SongSearchIndex;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+// Streaming read side of SongService. Results are emitted as the cursor delivers them
+// and the driver only fetches the next batch when the subscriber asks for more.
+@Service
+@Profile("reactive")
+public class ReactiveSongService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveSongService.class);
+
+    // IDs resolved per $in query when expanding long ID lists
+    private static final int LOOKUP_CHUNK_SIZE = 100;
+
+    @Autowired
+    private ReactiveSongRepository songRepository;
+
+    @Autowired
+    private SongSearchIndex songSearchIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Stream every song in ID order
+    public Flux<Song> getAllSongs() {
+        logger.info("📋 Streaming all songs from database");
+        return songRepository.findAll(Sort.by("id"));
+    }
+
+    // Get song by ID (served from the songs cache when present)
+    public Mono<Song> getSongById(String id) {
+        Cache cache = cacheManager.getCache(CacheConfig.SONGS_CACHE);
+        Song cached = cache != null ? cache.get(id, Song.class) : null;
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return songRepository.findById(id)
+                .doOnNext(song -> {
+                    if (cache != null) {
+                        cache.put(id, song);
+                    }
+                });
+    }
+
+    // Stream songs for the given IDs in the requested order, skipping unknown IDs.
+    // IDs are resolved a chunk at a time, so the first songs go out before the
+    // rest of a long list has been read.
+    public Flux<Song> getSongsByIds(List<String> ids) {
+        List<String> requestedIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Cache cache = cacheManager.getCache(CacheConfig.SONGS_CACHE);
+
+        return Flux.fromIterable(requestedIds)
+                .buffer(LOOKUP_CHUNK_SIZE)
+                .concatMap(chunk -> resolveChunk(chunk, cache));
+    }
+
+    // Search songs by title, artist, album or genre, ranked by relevance
+    public Flux<Song> searchSongs(String query, int page, int size) {
+        logger.info("🔍 Streaming search results for query: {} (page {}, size {})", query, page, size);
+        return Mono.fromCallable(() -> songSearchIndex.search(query, PageRequest.of(page, size)).getContent())
+                .flatMapMany(this::getSongsByIds);
+    }
+
+    // Get most liked songs
+    public Flux<Song> getMostLikedSongs() {
+        logger.info("🏆 Streaming most liked songs");
+        return songRepository.findTop10ByOrderByLikeCountDesc();
+    }
+
+    // Get songs by genre
+    public Flux<Song> getSongsByGenre(String genre) {
+        logger.info("🎼 Streaming songs by genre: {}", genre);
+        return songRepository.findByGenreKey(TextNormalizer.normalize(genre));
+    }
+
+    private Flux<Song> resolveChunk(List<String> chunk, Cache cache) {
+        Map<String, Song> songsById = new HashMap<>(chunk.size() * 2);
+        List<String> uncachedIds = new ArrayList<>();
+        for (String id : chunk) {
+            Song cached = cache != null ? cache.get(id, Song.class) : null;
+            if (cached != null) {
+                songsById.put(id, cached);
+            } else {
+                uncachedIds.add(id);
+            }
+        }
+
+        Mono<Map<String, Song>> loaded = uncachedIds.isEmpty()
+                ? Mono.just(songsById)
+                : songRepository.findByIdIn(uncachedIds)
+                        .doOnNext(song -> {
+                            songsById.put(song.getId(), song);
+                            if (cache != null) {
+                                cache.put(song.getId(), song);
+                            }
+                        })
+                        .then(Mono.just(songsById));
+
+        return loaded.flatMapIterable(found -> chunk.stream()
+                .filter(found::containsKey)
+                .map(found::get)
+                .toList());
+    }
+}
@@ -0,0 +1,52 @@
+package com.musicapp.songplaylistmanager.service.reactive;
+
+
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import com.musicapp.songplaylistmanager.repository.reactive.ReactiveUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Streaming read side of UserService
+@Service
+@Profile("reactive")
+public class ReactiveUserService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveUserService.class);
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private ReactiveSongService songService;
+
+    // Stream every user in ID order
+    public Flux<User> getAllUsers() {
+        logger.info("📋 Streaming all users from database");
+        return userRepository.findAll(Sort.by("id"));
+    }
+
+    // Get user by ID
+    public Mono<User> getUserById(String id) {
+        return userRepository.findById(id);
+    }
+
+    // Get user by username
+    public Mono<User> getUserByUsername(String username) {
+        return userRepository.findByUsername(username);
+    }
+
+    // Stream the songs a user liked, in the order they were liked
+    public Flux<Song> getLikedSongs(String userId) {
+        logger.info("❤️ Streaming liked songs for user ID: {}", userId);
+        return userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found")))
+                .flatMapMany(user -> songService.getSongsByIds(user.getLikedSongs()));
+    }
+}
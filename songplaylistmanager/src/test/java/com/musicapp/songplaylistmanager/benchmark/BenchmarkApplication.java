@@ -0,0 +1,52 @@
+package com.musicapp.songplaylistmanager.benchmark;
+
+import com.musicapp.songplaylistmanager.SongPlaylistManagerApplication;
+import com.musicapp.songplaylistmanager.config.DataLoader;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Service layer without the console, the sample-data loader or a web server.
+// Runs against an embedded MongoDB unless -Dbenchmark.mongodb.uri points at a real one.
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+@ComponentScan(basePackages = "com.musicapp.songplaylistmanager",
+		excludeFilters = {
+				@ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+						classes = {SongPlaylistManagerApplication.class, DataLoader.class}),
+				@ComponentScan.Filter(type = FilterType.REGEX,
+						pattern = "com\\.musicapp\\.songplaylistmanager\\.console\\..*")
+		})
+public class BenchmarkApplication {
+
+	static final String EMBEDDED_MONGO_VERSION = "7.0.14";
+
+	static ConfigurableApplicationContext start() {
+		List<String> properties = new ArrayList<>();
+		properties.add("spring.data.mongodb.database=song_playlist_benchmark");
+		properties.add("logging.level.com.musicapp.songplaylistmanager=WARN");
+		properties.add("app.stats.refresh-interval-ms=3600000");
+
+		String mongoUri = System.getProperty("benchmark.mongodb.uri");
+		if (mongoUri != null) {
+			properties.add("spring.data.mongodb.uri=" + mongoUri);
+		} else {
+			properties.add("de.flapdoodle.mongodb.embedded.version=" + EMBEDDED_MONGO_VERSION);
+			properties.add("spring.data.mongodb.port=0");
+		}
+
+		return new SpringApplicationBuilder(BenchmarkApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(properties.toArray(String[]::new))
+				.run();
+	}
+}
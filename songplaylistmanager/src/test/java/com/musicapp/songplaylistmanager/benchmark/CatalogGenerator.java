@@ -0,0 +1,65 @@
+package com.musicapp.songplaylistmanager.benchmark;
+
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic synthetic song catalog for benchmarks
+final class CatalogGenerator {
+
+	static final String[] WORDS = {
+			"love", "night", "summer", "heart", "fire", "rain", "dream", "road", "light", "river",
+			"golden", "midnight", "wild", "blue", "city", "ocean", "shadow", "dance", "echo", "silver",
+			"storm", "paradise", "electric", "lonely", "forever", "sunrise", "velvet", "thunder", "neon", "gravity"
+	};
+
+	static final String[] GENRES = {
+			"Pop", "Rock", "Soft Rock", "Hip-Hop", "Jazz", "Indian Pop", "Electronic", "Classical", "R&B", "Country"
+	};
+
+	private static final int BATCH_SIZE = 5_000;
+
+	private CatalogGenerator() {
+	}
+
+	// Inserts count songs in batches and returns their IDs in insertion order
+	static List<String> insertSongs(MongoTemplate mongoTemplate, int count, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		List<String> ids = new ArrayList<>(count);
+		List<Song> batch = new ArrayList<>(BATCH_SIZE);
+
+		for (int i = 0; i < count; i++) {
+			Song song = new Song(
+					words(random, 1 + random.nextInt(3)),
+					"Artist " + random.nextInt(Math.max(1, count / 20)),
+					words(random, 2),
+					GENRES[random.nextInt(GENRES.length)],
+					60 + random.nextInt(540));
+			song.setLikeCount(random.nextInt(10_000));
+			batch.add(song);
+
+			if (batch.size() == BATCH_SIZE || i == count - 1) {
+				for (Song saved : mongoTemplate.insert(batch, Song.class)) {
+					ids.add(saved.getId());
+				}
+				batch.clear();
+			}
+		}
+		return ids;
+	}
+
+	static String words(SplittableRandom random, int count) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				text.append(' ');
+			}
+			String word = WORDS[random.nextInt(WORDS.length)];
+			text.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,93 @@
+package com.musicapp.songplaylistmanager.benchmark;
+
+import com.musicapp.songplaylistmanager.catalog.ColumnarSongCatalog;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Scans over the columnar catalog versus the same filters over a List<Song> held in memory.
+// Filters are selective (one genre in 50, a narrow duration band) so the numbers are dominated
+// by the scan rather than by building the result objects.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarCatalogBenchmark {
+
+	@Param({"100000", "1000000"})
+	private int catalogSize;
+
+	private ColumnarSongCatalog catalog;
+	private List<Song> songs;
+
+	@Setup
+	public void setUp() {
+		catalog = new ColumnarSongCatalog();
+		songs = new ArrayList<>(catalogSize);
+		for (int i = 0; i < catalogSize; i++) {
+			Song song = new Song("Song " + i, "Artist " + (i % 5000), "Album " + (i % 20000), "Genre " + (i % 50), 60 + i % 540);
+			song.setId(new ObjectId().toHexString());
+			song.setLikeCount(i % 1000);
+			songs.add(song);
+			catalog.upsert(song);
+		}
+	}
+
+	@Benchmark
+	public List<Song> columnarGenre() {
+		return catalog.findByGenre("genre 7");
+	}
+
+	@Benchmark
+	public List<Song> objectGenre() {
+		String key = TextNormalizer.normalize("genre 7");
+		return songs.stream().filter(song -> key.equals(song.getGenreKey())).toList();
+	}
+
+	@Benchmark
+	public List<Song> columnarDuration() {
+		return catalog.findByDurationRange(200, 201);
+	}
+
+	@Benchmark
+	public List<Song> objectDuration() {
+		return songs.stream().filter(song -> song.getDuration() >= 200 && song.getDuration() <= 201).toList();
+	}
+
+	@Benchmark
+	public List<Song> columnarTopLiked() {
+		return catalog.findMostLiked(null, 10);
+	}
+
+	@Benchmark
+	public List<Song> objectTopLiked() {
+		return songs.stream().sorted(Comparator.comparing(Song::getLikeCount).reversed()).limit(10).toList();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ColumnarCatalogBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
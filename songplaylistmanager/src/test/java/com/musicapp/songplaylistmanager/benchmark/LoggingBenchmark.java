@@ -0,0 +1,146 @@
+package com.musicapp.songplaylistmanager.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Caller-side cost of the service log lines under concurrent load:
+// a synchronous console appender versus an AsyncAppender, and an INFO line versus the same
+// line demoted to a disabled DEBUG level.
+// Output goes to a discarding stream so the numbers measure formatting and locking, not the terminal.
+//
+// 'async' never drops (discardingThreshold=0, neverBlock=false): once the queue is full callers
+// wait for the writer, so it measures sustained throughput. 'async-dropping' uses the settings of
+// the 'async-logging' profile, which drop INFO when the queue is nearly full; its score counts
+// dropped events too, so the share that reached the output is printed at the end of the trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+	// Same layout as logging.pattern.console in application.properties
+	private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n";
+
+	@Param({"sync", "async", "async-dropping"})
+	private String appender;
+
+	private LoggerContext context;
+	private Logger logger;
+	private final LongAdder logged = new LongAdder();
+	private final LongAdder written = new LongAdder();
+	private final String songId = "64f1c2a9e4b0a1b2c3d4e5f6";
+	private final String title = "Shape of You";
+
+	@Setup
+	public void setUp() {
+		context = new LoggerContext();
+		// Set by logback's own bootstrap in the application; without it every event pays for an exception
+		context.setMDCAdapter(new LogbackMDCAdapter());
+		context.start();
+
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern(PATTERN);
+		encoder.start();
+
+		OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+		console.setContext(context);
+		console.setName("CONSOLE");
+		console.setEncoder(encoder);
+		// One write per encoded event
+		console.setOutputStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+				written.increment();
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				written.increment();
+			}
+		});
+		console.start();
+
+		Appender<ILoggingEvent> root = console;
+		if (appender.startsWith("async")) {
+			boolean dropping = "async-dropping".equals(appender);
+			AsyncAppender async = new AsyncAppender();
+			async.setContext(context);
+			async.setName("ASYNC_CONSOLE");
+			async.setQueueSize(8192);
+			async.setDiscardingThreshold(dropping ? 1024 : 0);
+			async.setNeverBlock(dropping);
+			async.setIncludeCallerData(false);
+			async.addAppender(console);
+			async.start();
+			root = async;
+		}
+
+		logger = context.getLogger("com.musicapp.songplaylistmanager.service.SongService");
+		logger.setLevel(Level.INFO);
+		logger.setAdditive(false);
+		logger.addAppender(root);
+	}
+
+	@TearDown
+	public void tearDown() {
+		// Stopping drains the async queue into the output first
+		context.stop();
+		long total = logged.sum();
+		if (total > 0) {
+			System.out.printf("%n%s: %d of %d INFO events written (%.1f%% dropped)%n",
+					appender, written.sum(), total, 100.0 * (total - written.sum()) / total);
+		}
+	}
+
+	// The two lines getSongById used to write on every call
+	@Benchmark
+	public void infoLookup() {
+		logger.info("🔍 Searching for song with ID: {}", songId);
+		logger.info("✅ Song found: {}", title);
+		logged.add(2);
+	}
+
+	// The same lines at DEBUG while the logger sits at INFO
+	@Benchmark
+	public void debugLookupDisabled() {
+		logger.debug("🔍 Searching for song with ID: {}", songId);
+		logger.debug("✅ Song found: {}", title);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(LoggingBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,86 @@
+package com.musicapp.songplaylistmanager.benchmark;
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Membership checks on large playlists / like lists:
+// the old ArrayList.contains scan versus the hash index kept by Playlist and User.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MembershipBenchmark {
+
+	@Param({"10000", "100000"})
+	private int entries;
+
+	private List<String> songIds;
+	private Playlist playlist;
+	private User user;
+	private String missingId;
+
+	@Setup
+	public void setUp() {
+		songIds = new ArrayList<>(entries);
+		for (int i = 0; i < entries; i++) {
+			songIds.add(String.format("%024x", i));
+		}
+		playlist = new Playlist("Benchmark", null, "user");
+		playlist.setSongIds(songIds);
+		user = new User("benchmark", "benchmark@example.com", null);
+		user.setLikedSongs(songIds);
+		missingId = String.format("%024x", entries + 1);
+
+		// Build the lazy indexes outside the measured region
+		playlist.containsSong(missingId);
+		user.hasLikedSong(missingId);
+	}
+
+	@Benchmark
+	public boolean listContains() {
+		return songIds.contains(missingId);
+	}
+
+	@Benchmark
+	public boolean playlistContainsSong() {
+		return playlist.containsSong(missingId);
+	}
+
+	@Benchmark
+	public boolean userHasLikedSong() {
+		return user.hasLikedSong(missingId);
+	}
+
+	// Duplicate add: the path PlaylistService hits when a song is already present
+	@Benchmark
+	public int playlistAddDuplicate() {
+		playlist.addSong(songIds.get(entries - 1));
+		return playlist.getSongCount();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(MembershipBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,139 @@
+package com.musicapp.songplaylistmanager.benchmark;
+
+import com.musicapp.songplaylistmanager.config.CacheConfig;
+import com.musicapp.songplaylistmanager.dto.SongLookupResult;
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Role;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import com.musicapp.songplaylistmanager.repository.PlaylistRepository;
+import com.musicapp.songplaylistmanager.repository.UserRepository;
+import com.musicapp.songplaylistmanager.search.SongSearchIndex;
+import com.musicapp.songplaylistmanager.service.PlaylistService;
+import com.musicapp.songplaylistmanager.service.SongService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Service-layer hot paths against a generated catalog.
+// Run through the benchmark Maven profile: mvn -Pbenchmark verify (results in target/jmh-result.json)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+	private static final int PLAYLIST_LENGTH = 500;
+
+	@Param({"10000", "100000", "1000000"})
+	private int catalogSize;
+
+	private ConfigurableApplicationContext context;
+	private SongService songService;
+	private PlaylistService playlistService;
+	private CacheManager cacheManager;
+
+	private List<String> songIds;
+	private String userId;
+	private String scratchPlaylistId;
+	private List<String> expansionSongIds;
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		final SplittableRandom random = new SplittableRandom(42);
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start();
+		MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+		UserRepository userRepository = context.getBean(UserRepository.class);
+		PlaylistRepository playlistRepository = context.getBean(PlaylistRepository.class);
+		songService = context.getBean(SongService.class);
+		playlistService = context.getBean(PlaylistService.class);
+		cacheManager = context.getBean(CacheManager.class);
+
+		mongoTemplate.getDb().drop();
+		songIds = CatalogGenerator.insertSongs(mongoTemplate, catalogSize, 7L);
+
+		User listener = userRepository.save(new User("listener", "listener@example.com", Role.USER));
+		userId = listener.getId();
+
+		Playlist scratch = playlistRepository.save(new Playlist("Scratch", null, userId));
+		scratchPlaylistId = scratch.getId();
+
+		Playlist expansion = new Playlist("Long Mix", null, userId);
+		SplittableRandom random = new SplittableRandom(11);
+		while (expansion.getSongCount() < Math.min(PLAYLIST_LENGTH, songIds.size())) {
+			expansion.addSong(songIds.get(random.nextInt(songIds.size())));
+		}
+		expansionSongIds = playlistRepository.save(expansion).getSongIds();
+
+		context.getBean(SongSearchIndex.class).rebuild();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Song toggleLikeSong(Cursor cursor) {
+		return songService.toggleLikeSong(randomSongId(cursor), userId);
+	}
+
+	@Benchmark
+	public Page<Song> searchSongs(Cursor cursor) {
+		String word = CatalogGenerator.WORDS[cursor.random.nextInt(CatalogGenerator.WORDS.length)];
+		// Typing a prefix, as the console search does
+		return songService.searchSongs(word.substring(0, 3), 0, 20);
+	}
+
+	@Benchmark
+	public List<Song> getMostLikedSongs() {
+		return songService.getMostLikedSongs();
+	}
+
+	// Add then remove, so the scratch playlist stays small and never hits the duplicate check
+	@Benchmark
+	public Playlist addAndRemoveSong(Cursor cursor) {
+		String songId = randomSongId(cursor);
+		playlistService.addSongToPlaylist(scratchPlaylistId, songId, userId);
+		return playlistService.removeSongFromPlaylist(scratchPlaylistId, songId, userId);
+	}
+
+	@Benchmark
+	public SongLookupResult expandPlaylist() {
+		return songService.getSongsByIds(expansionSongIds);
+	}
+
+	@Benchmark
+	public SongLookupResult expandPlaylistUncached() {
+		cacheManager.getCache(CacheConfig.SONGS_CACHE).clear();
+		return songService.getSongsByIds(expansionSongIds);
+	}
+
+	private String randomSongId(Cursor cursor) {
+		return songIds.get(cursor.random.nextInt(songIds.size()));
+	}
+}
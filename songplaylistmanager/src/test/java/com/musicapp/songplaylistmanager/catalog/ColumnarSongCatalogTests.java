@@ -0,0 +1,73 @@
+package com.musicapp.songplaylistmanager.catalog;
+
+import com.musicapp.songplaylistmanager.event.SongLikeChangedEvent;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarSongCatalogTests {
+
+	private ColumnarSongCatalog catalog;
+
+	@BeforeEach
+	void setUp() {
+		catalog = new ColumnarSongCatalog();
+	}
+
+	@Test
+	void answersGenreDurationAndTopLikedQueries() {
+		String shape = new ObjectId().toHexString();
+		catalog.upsert(song(shape, "Shape of You", "Pop", 233, 7));
+		catalog.upsert(song("custom-id", "Perfect", "pop", 263, 9));
+		catalog.upsert(song(new ObjectId().toHexString(), "Numb", "Rock", 185, 3));
+
+		assertThat(catalog.findByGenre("POP")).extracting(Song::getTitle).containsExactly("Shape of You", "Perfect");
+		assertThat(catalog.findByDurationRange(180, 240)).extracting(Song::getTitle).containsExactly("Shape of You", "Numb");
+		assertThat(catalog.findMostLiked(null, 2)).extracting(Song::getTitle).containsExactly("Perfect", "Shape of You");
+		assertThat(catalog.findMostLiked("rock", 5)).extracting(Song::getTitle).containsExactly("Numb");
+
+		Song restored = catalog.findByGenre("pop").get(0);
+		assertThat(restored.getId()).isEqualTo(shape);
+		assertThat(restored.getArtist()).isEqualTo("Artist");
+		assertThat(restored.getLikeCount()).isEqualTo(7);
+
+		Song liked = song(shape, "Shape of You", "Pop", 233, 12);
+		catalog.onSongLikeChanged(new SongLikeChangedEvent(this, liked, true));
+		assertThat(catalog.findMostLiked(null, 1)).extracting(Song::getTitle).containsExactly("Shape of You");
+	}
+
+	@Test
+	void keepsRowsAddressableThroughGrowthAndRemoval() {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			String id = new ObjectId().toHexString();
+			ids.add(id);
+			catalog.upsert(song(id, "Song " + i, i % 2 == 0 ? "Pop" : "Jazz", 100 + i % 100, i));
+		}
+		for (int i = 0; i < 5000; i += 2) {
+			catalog.remove(ids.get(i));
+		}
+		assertThat(catalog.size()).isEqualTo(2500);
+		assertThat(catalog.findByGenre("pop")).isEmpty();
+
+		// Updates must find the surviving rows, and freed rows are reused
+		catalog.upsert(song(ids.get(1), "Renamed", "Pop", 200, 0));
+		catalog.upsert(song(new ObjectId().toHexString(), "New", "Pop", 200, 0));
+		assertThat(catalog.size()).isEqualTo(2501);
+		assertThat(catalog.findByGenre("pop")).extracting(Song::getTitle).containsExactlyInAnyOrder("Renamed", "New");
+		assertThat(catalog.findMostLiked("jazz", 1)).extracting(Song::getTitle).containsExactly("Song 4999");
+	}
+
+	private static Song song(String id, String title, String genre, int duration, int likes) {
+		Song song = new Song(title, "Artist", "Album", genre, duration);
+		song.setId(id);
+		song.setLikeCount(likes);
+		return song;
+	}
+}
@@ -0,0 +1,78 @@
+package com.musicapp.songplaylistmanager.config;
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoIndexInitializerTests {
+
+	private final List<String> created = new ArrayList<>();
+	private MongoIndexInitializer initializer;
+	private IndexOperations indexOperations;
+
+	@BeforeEach
+	void setUp() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		indexOperations = mock(IndexOperations.class);
+		when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+		when(mongoTemplate.getCollectionName(Song.class)).thenReturn("songs");
+		when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+		when(mongoTemplate.getCollectionName(Playlist.class)).thenReturn("playlists");
+
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+
+		initializer = new MongoIndexInitializer();
+		ReflectionTestUtils.setField(initializer, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(initializer, "mappingContext", mappingContext);
+	}
+
+	@Test
+	void oneFailingIndexDoesNotSkipTheOthers() {
+		doAnswer(invocation -> {
+			String name = invocation.<IndexDefinition>getArgument(0).getIndexOptions().getString("name");
+			if (name.equals("duration")) {
+				throw new IllegalStateException("index build failed");
+			}
+			created.add(name);
+			return name;
+		}).when(indexOperations).createIndex(any(IndexDefinition.class));
+
+		initializer.createIndexes();
+
+		assertThat(created).contains("genreKey_likeCount", "artistKey", User.USERNAME_INDEX, "songIds")
+				.doesNotContain("duration");
+	}
+
+	@Test
+	void failingUniqueIndexStopsStartup() {
+		doAnswer(invocation -> {
+			String name = invocation.<IndexDefinition>getArgument(0).getIndexOptions().getString("name");
+			if (name.equals(User.EMAIL_INDEX)) {
+				throw new IllegalStateException("E11000 duplicate key");
+			}
+			return name;
+		}).when(indexOperations).createIndex(any(IndexDefinition.class));
+
+		assertThatThrownBy(initializer::createIndexes)
+				.hasMessageContaining("Unique index " + User.EMAIL_INDEX + " on users");
+	}
+}
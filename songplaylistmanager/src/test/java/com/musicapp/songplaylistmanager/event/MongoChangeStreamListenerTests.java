@@ -0,0 +1,80 @@
+package com.musicapp.songplaylistmanager.event;
+
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoChangeStreamListenerTests {
+
+	private final List<Object> published = new ArrayList<>();
+	private MongoChangeStreamListener listener;
+
+	@BeforeEach
+	void setUp() {
+		MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.getConverter()).thenReturn(converter);
+
+		listener = new MongoChangeStreamListener();
+		ReflectionTestUtils.setField(listener, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(listener, "eventPublisher", (ApplicationEventPublisher) published::add);
+	}
+
+	@Test
+	void songUpdatesCarryTheLookedUpDocument() {
+		ObjectId id = new ObjectId();
+		Document fullDocument = new Document("_id", id)
+				.append("title", "Halo")
+				.append("artist", "Beyoncé")
+				.append("genre", "Pop")
+				.append("likeCount", 42);
+
+		listener.dispatch("songs", OperationType.UPDATE, new BsonDocument("_id", new BsonObjectId(id)), fullDocument);
+
+		assertThat(published).singleElement().isInstanceOfSatisfying(SongChangedEvent.class, event -> {
+			assertThat(event.getType()).isEqualTo(SongChangedEvent.Type.SAVED);
+			assertThat(event.getSongId()).isEqualTo(id.toHexString());
+			assertThat(event.getSong().getLikeCount()).isEqualTo(42);
+			assertThat(event.getSong().getArtist()).isEqualTo("Beyoncé");
+		});
+	}
+
+	@Test
+	void deletesAndDropsBecomeTypedEvents() {
+		listener.dispatch("songs", OperationType.UPDATE, new BsonDocument("_id", new BsonString("gone")), null);
+		listener.dispatch("users", OperationType.DELETE, new BsonDocument("_id", new BsonString("u1")), null);
+		listener.dispatch("playlists", OperationType.DROP, null, null);
+
+		assertThat(published).hasSize(2);
+		assertThat(published.get(0)).isInstanceOfSatisfying(UserChangedEvent.class, event -> {
+			assertThat(event.getType()).isEqualTo(UserChangedEvent.Type.DELETED);
+			assertThat(event.getUserId()).isEqualTo("u1");
+		});
+		assertThat(published.get(1)).isInstanceOfSatisfying(PlaylistChangedEvent.class,
+				event -> assertThat(event.getType()).isEqualTo(PlaylistChangedEvent.Type.CLEARED));
+	}
+}
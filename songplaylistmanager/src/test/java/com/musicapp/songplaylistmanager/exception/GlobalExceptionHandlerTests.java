@@ -0,0 +1,23 @@
+package com.musicapp.songplaylistmanager.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTests {
+
+	@Test
+	void mapsServiceMessagesToStatus() {
+		assertThat(GlobalExceptionHandler.statusFor("Song not found")).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(GlobalExceptionHandler.statusFor("Song not found in playlist")).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(GlobalExceptionHandler.statusFor("Only admins can create songs")).isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(GlobalExceptionHandler.statusFor("You can only modify your own playlists")).isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(GlobalExceptionHandler.statusFor("Like status changed concurrently, please try again"))
+				.isEqualTo(HttpStatus.CONFLICT);
+		assertThat(GlobalExceptionHandler.statusFor("Song search is unavailable until the search index has been built"))
+				.isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(GlobalExceptionHandler.statusFor("Username already exists")).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(GlobalExceptionHandler.statusFor(null)).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+}
@@ -0,0 +1,56 @@
+package com.musicapp.songplaylistmanager.export;
+
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentFileRoundTripTests {
+
+	@ParameterizedTest
+	@CsvSource({"JSONL,false", "JSONL,true", "BSON,false", "BSON,true"})
+	void readsBackExactlyWhatWasWritten(ExportFormat format, boolean gzip) throws IOException {
+		List<RawBsonDocument> documents = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			BsonDocument document = new BsonDocument("_id", new BsonObjectId(new ObjectId()))
+					.append("title", new BsonString("Song ✓ " + i))
+					.append("likeCount", new BsonInt32(i))
+					.append("plays", new BsonInt64(i))
+					.append("createdDate", new BsonDateTime(1_700_000_000_000L + i));
+			documents.add(new RawBsonDocument(document, new BsonDocumentCodec()));
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (DocumentFileWriter writer = new DocumentFileWriter(out, format, gzip)) {
+			for (RawBsonDocument document : documents) {
+				writer.write(document);
+			}
+			assertThat(writer.getDocuments()).isEqualTo(3);
+		}
+
+		List<RawBsonDocument> read = new ArrayList<>();
+		try (DocumentFileReader reader = new DocumentFileReader(new ByteArrayInputStream(out.toByteArray()), format, gzip)) {
+			RawBsonDocument document;
+			while ((document = reader.next()) != null) {
+				read.add(document);
+			}
+		}
+
+		assertThat(read).isEqualTo(documents);
+	}
+}
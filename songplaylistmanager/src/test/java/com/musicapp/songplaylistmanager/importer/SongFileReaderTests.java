@@ -0,0 +1,58 @@
+package com.musicapp.songplaylistmanager.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SongFileReaderTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+	@Test
+	void readsCsvByHeaderNameWithQuotedFields() throws IOException {
+		String csv = "artist,title,duration,album\n"
+				+ "Ed Sheeran,\"Perfect, Live\",263,\"Say \"\"Hi\"\"\"\n"
+				+ "\n"
+				+ "Anuv Jain,Baarishein,abc,\n";
+
+		try (SongFileReader reader = new SongFileReader(new StringReader(csv), ImportFormat.CSV, objectMapper)) {
+			SongFileReader.Row first = reader.next();
+			assertThat(first.lineNumber()).isEqualTo(2);
+			assertThat(first.song().getTitle()).isEqualTo("Perfect, Live");
+			assertThat(first.song().getArtist()).isEqualTo("Ed Sheeran");
+			assertThat(first.song().getAlbum()).isEqualTo("Say \"Hi\"");
+			assertThat(first.song().getDuration()).isEqualTo(263);
+			assertThat(first.song().getLikeCount()).isZero();
+
+			SongFileReader.Row second = reader.next();
+			assertThat(second.lineNumber()).isEqualTo(4);
+			assertThat(second.song()).isNull();
+			assertThat(second.error()).contains("duration");
+
+			assertThat(reader.next()).isNull();
+		}
+	}
+
+	@Test
+	void readsJsonLinesIgnoringUnknownFields() throws IOException {
+		String jsonl = """
+				{"title":"Shape of You","artist":"Ed Sheeran","genre":"Pop","duration":263,"plays":9}
+				{"title":
+				""";
+
+		try (SongFileReader reader = new SongFileReader(new StringReader(jsonl), ImportFormat.JSONL, objectMapper)) {
+			SongFileReader.Row first = reader.next();
+			assertThat(first.song().getTitle()).isEqualTo("Shape of You");
+			assertThat(first.song().getGenre()).isEqualTo("Pop");
+			assertThat(first.song().getLikeCount()).isZero();
+
+			assertThat(reader.next().error()).isNotNull();
+			assertThat(reader.next()).isNull();
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.musicapp.songplaylistmanager.leaderboard;
+
+import com.musicapp.songplaylistmanager.dto.SongRank;
+import com.musicapp.songplaylistmanager.event.SongLikeChangedEvent;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SongLeaderboardTests {
+
+	private SongLeaderboard leaderboard;
+
+	@BeforeEach
+	void setUp() {
+		leaderboard = new SongLeaderboard();
+		leaderboard.update(song("a", "Pop", 5));
+		leaderboard.update(song("b", "Rock", 9));
+		leaderboard.update(song("c", "pop", 5));
+		leaderboard.update(song("d", "Jazz", 1));
+	}
+
+	@Test
+	void ordersByLikesThenId() {
+		assertThat(leaderboard.topSongIds(3)).containsExactly("b", "a", "c");
+		assertThat(leaderboard.topSongIds(10)).containsExactly("b", "a", "c", "d");
+		assertThat(leaderboard.topSongIds("POP", 10)).containsExactly("a", "c");
+		assertThat(leaderboard.topSongIds("Metal", 10)).isEmpty();
+	}
+
+	@Test
+	void ranksShareTiesAndFollowLikeEvents() {
+		assertThat(leaderboard.rankOf("c")).map(SongRank::getRank).contains(2);
+		assertThat(leaderboard.rankOf("d")).map(SongRank::getRank).contains(4);
+
+		leaderboard.onSongLikeChanged(new SongLikeChangedEvent(this, song("d", "Jazz", 10), true));
+		assertThat(leaderboard.topSongIds(1)).containsExactly("d");
+		assertThat(leaderboard.rankOf("b")).map(SongRank::getRank).contains(2);
+
+		leaderboard.remove("d");
+		assertThat(leaderboard.rankOf("d")).isEmpty();
+		assertThat(leaderboard.topSongIds("jazz", 10)).isEmpty();
+		assertThat(leaderboard.size()).isEqualTo(3);
+	}
+
+	@Test
+	void dropsLikeEventsOlderThanTheAppliedOne() {
+		Song newer = song("d", "Jazz", 12);
+		newer.setLikeVersion(2);
+		Song older = song("d", "Jazz", 11);
+		older.setLikeVersion(1);
+
+		leaderboard.onSongLikeChanged(new SongLikeChangedEvent(this, newer, true));
+		leaderboard.onSongLikeChanged(new SongLikeChangedEvent(this, older, false));
+
+		assertThat(leaderboard.topSongIds(1)).containsExactly("d");
+		assertThat(leaderboard.rankOf("d")).map(SongRank::getLikeCount).contains(12);
+	}
+
+	private static Song song(String id, String genre, int likes) {
+		Song song = new Song("Title " + id, "Artist", "Album", genre, 200);
+		song.setId(id);
+		song.setLikeCount(likes);
+		return song;
+	}
+}
@@ -0,0 +1,107 @@
+package com.musicapp.songplaylistmanager.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Role;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaylistTests {
+
+	@Test
+	void keepsInsertionOrderAndIgnoresDuplicates() {
+		Playlist playlist = new Playlist("Road Trip", null, "user-1");
+		playlist.setSongIds(List.of("c", "a", "c", "b"));
+		playlist.addSong("a");
+		playlist.addSong("d");
+
+		assertThat(playlist.getSongIds()).containsExactly("c", "a", "b", "d");
+		assertThat(playlist.containsSong("b")).isTrue();
+
+		playlist.removeSong("a");
+		assertThat(playlist.getSongIds()).containsExactly("c", "b", "d");
+		assertThat(playlist.containsSong("a")).isFalse();
+	}
+
+	@Test
+	void trackSummariesFollowTheSongList() {
+		Song first = new Song("Halo", "Beyoncé", "I Am... Sasha Fierce", "Pop", 261);
+		first.setId("s1");
+		Song second = new Song("Numb", "Linkin Park", "Meteora", "Rock", 185);
+		second.setId("s2");
+
+		Playlist playlist = new Playlist("Mix", null, "user-1");
+		playlist.addSong(first);
+		playlist.addSong(second);
+		playlist.addSong(first);
+		assertThat(playlist.hasTrackSummaries()).isTrue();
+		assertThat(playlist.getTracks()).extracting("title").containsExactly("Halo", "Numb");
+		assertThat(playlist.getTotalDuration()).isEqualTo(446);
+
+		playlist.removeSong("s1");
+		assertThat(playlist.getTotalDuration()).isEqualTo(185);
+
+		// An ID added without its song leaves the summaries incomplete
+		playlist.addSong("s3");
+		assertThat(playlist.hasTrackSummaries()).isFalse();
+	}
+
+	@Test
+	void trackSummariesAreNotReadFromJson() throws Exception {
+		Playlist playlist = new ObjectMapper().readValue("""
+				{"name": "Mix", "userId": "user-1", "songIds": ["s1"],
+				 "tracks": [{"songId": "s1", "title": "Invented", "artist": "Nobody", "duration": 999}],
+				 "totalDuration": 999}
+				""", Playlist.class);
+
+		assertThat(playlist.getSongIds()).containsExactly("s1");
+		assertThat(playlist.getTracks()).isEmpty();
+		assertThat(playlist.getTotalDuration()).isZero();
+		assertThat(playlist.hasTrackSummaries()).isFalse();
+	}
+
+	@Test
+	void likedSongsStayDeduplicated() {
+		User user = new User("listener", "listener@example.com", Role.USER);
+		user.likeSong("x");
+		user.likeSong("y");
+		user.likeSong("x");
+
+		assertThat(user.getLikedSongs()).containsExactly("x", "y");
+		user.unlikeSong("x");
+		assertThat(user.hasLikedSong("x")).isFalse();
+		assertThat(user.getLikedSongs()).containsExactly("y");
+	}
+
+	@Test
+	void normalizedKeysFollowEveryWrite() {
+		Song song = new Song("Title", "Beyoncé", "Lemonade", " R&B ", 200);
+		assertThat(song.getArtistKey()).isEqualTo("beyonce");
+		assertThat(song.getGenreKey()).isEqualTo("r&b");
+
+		song.setArtist("ROSALÍA");
+		song.setAlbum(null);
+		assertThat(song.getArtistKey()).isEqualTo("rosalia");
+		assertThat(song.getAlbumKey()).isNull();
+
+		Playlist playlist = new Playlist("Café Mix", null, "user-1");
+		assertThat(playlist.getNameKey()).isEqualTo("cafe mix");
+		playlist.setName("Workout");
+		assertThat(playlist.getNameKey()).isEqualTo("workout");
+	}
+
+	@Test
+	void prefixUpperBoundClosesTheRange() {
+		String upper = TextNormalizer.prefixUpperBound("art");
+		assertThat(upper).isEqualTo("aru");
+		assertThat("artist".compareTo(upper)).isNegative();
+		assertThat("aru".compareTo(upper)).isZero();
+		assertThat(TextNormalizer.prefixUpperBound("")).isEqualTo(String.valueOf(Character.MAX_VALUE));
+	}
+}
@@ -0,0 +1,150 @@
+package com.musicapp.songplaylistmanager.repository;
+
+import com.musicapp.songplaylistmanager.config.MongoIndexInitializer;
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Role;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs every repository query with the profiler on and checks the recorded plan: each one
+// must be an index scan, never a COLLSCAN. Needs a database, so it only runs with
+// test.mongodb=true: set by -Pembedded-mongo, which provides an embedded MongoDB, or passed
+// as -Dtest.mongodb=true to use the configured mongod. Either way in its own database, which it drops.
+@EnabledIfSystemProperty(named = "test.mongodb", matches = "true")
+@DataMongoTest(properties = {
+		"de.flapdoodle.mongodb.embedded.version=7.0.14",
+		"spring.data.mongodb.database=song_playlist_index_coverage"
+})
+class RepositoryIndexCoverageTests {
+
+	@SpringBootConfiguration
+	@EnableMongoRepositories(basePackageClasses = SongRepository.class)
+	@Import(MongoIndexInitializer.class)
+	static class Config {
+	}
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private MongoIndexInitializer indexInitializer;
+
+	@Autowired
+	private SongRepository songRepository;
+
+	@Autowired
+	private PlaylistRepository playlistRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private final List<String> songIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate.getDb().drop();
+		indexInitializer.createIndexes();
+
+		// Enough data that the planner has a real choice between scanning and seeking
+		List<Song> songs = IntStream.range(0, 500)
+				.mapToObj(i -> {
+					Song song = new Song("Song " + i, "Artist " + (i % 50), "Album " + (i % 80), i % 2 == 0 ? "Pop" : "Rock", 200);
+					song.setLikeCount(i);
+					return song;
+				})
+				.toList();
+		songRepository.saveAll(songs).forEach(song -> songIds.add(song.getId()));
+
+		List<User> users = IntStream.range(0, 100)
+				.mapToObj(i -> new User("user" + i, "user" + i + "@example.com", i == 0 ? Role.ADMIN : Role.USER))
+				.toList();
+		userRepository.saveAll(users);
+
+		List<Playlist> playlists = IntStream.range(0, 200)
+				.mapToObj(i -> {
+					Playlist playlist = new Playlist("Playlist " + i, null, "owner-" + (i % 40));
+					playlist.setSongIds(songIds.subList(i, i + 5));
+					return playlist;
+				})
+				.toList();
+		playlistRepository.saveAll(playlists);
+
+		mongoTemplate.getDb().runCommand(new Document("profile", 0));
+		mongoTemplate.getDb().getCollection("system.profile").drop();
+		mongoTemplate.getDb().runCommand(new Document("profile", 2));
+	}
+
+	@Test
+	void songQueriesUseIndexes() {
+		assertIndexed("songs", () -> songRepository.findByIdIn(songIds.subList(0, 10)));
+		assertIndexed("songs", () -> songRepository.findByGenreKey("pop"));
+		assertIndexed("songs", () -> songRepository.findByArtistKey("artist 7"));
+		assertIndexed("songs", () -> songRepository.findByArtistKeyStartingWith("artist 1"));
+		assertIndexed("songs", () -> songRepository.findByAlbumKey("album 12"));
+		assertIndexed("songs", () -> songRepository.findByDurationRange(180, 240));
+		assertIndexed("songs", () -> songRepository.findTop10ByOrderByLikeCountDesc());
+		assertIndexed("songs", () -> songRepository.findAllBy(PageRequest.of(2, 25, Sort.by("id"))));
+
+		assertThat(songRepository.findByGenreKey("pop")).hasSize(250);
+		// "artist 1" and "artist 10".."artist 19", ten songs each
+		assertThat(songRepository.findByArtistKeyStartingWith("artist 1")).hasSize(110);
+	}
+
+	@Test
+	void playlistQueriesUseIndexes() {
+		assertIndexed("playlists", () -> playlistRepository.findByUserId("owner-7"));
+		assertIndexed("playlists", () -> playlistRepository.countByUserId("owner-7"));
+		assertIndexed("playlists", () -> playlistRepository.findBySongIdsContaining(songIds.get(3)));
+		assertIndexed("playlists", () -> playlistRepository.findByNameKeyStartingWith("playlist 1"));
+		assertIndexed("playlists", () -> playlistRepository.findAllBy(PageRequest.of(1, 25, Sort.by("id"))));
+	}
+
+	@Test
+	void userQueriesUseIndexes() {
+		assertIndexed("users", () -> userRepository.findByUsername("user7"));
+		assertIndexed("users", () -> userRepository.findByEmail("user7@example.com"));
+		assertIndexed("users", () -> userRepository.existsByUsername("user7"));
+		assertIndexed("users", () -> userRepository.existsByEmail("user7@example.com"));
+		assertIndexed("users", () -> userRepository.findByRole(Role.ADMIN));
+		assertIndexed("users", () -> userRepository.countByRole(Role.ADMIN));
+		assertIndexed("users", () -> userRepository.findAllBy(PageRequest.of(0, 25, Sort.by("id"))));
+	}
+
+	private void assertIndexed(String collection, Runnable repositoryCall) {
+		Document lastSeen = latestProfileEntry(collection);
+		repositoryCall.run();
+
+		Document entry = latestProfileEntry(collection);
+		assertThat(entry).as("profiled operation on %s", collection).isNotNull().isNotEqualTo(lastSeen);
+		String plan = entry.getString("planSummary");
+		assertThat(plan).as("plan for %s", entry.get("command")).isNotNull().doesNotContain("COLLSCAN");
+	}
+
+	private Document latestProfileEntry(String collection) {
+		String namespace = mongoTemplate.getDb().getName() + "." + collection;
+		Query query = Query.query(Criteria.where("ns").is(namespace).and("planSummary").exists(true))
+				.with(Sort.by(Sort.Direction.DESC, "ts"))
+				.limit(1);
+		return mongoTemplate.findOne(query, Document.class, "system.profile");
+	}
+}
@@ -0,0 +1,177 @@
+package com.musicapp.songplaylistmanager.search;
+
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.util.TextNormalizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SongSearchIndexTests {
+
+	private MongoTemplate mongoTemplate;
+	private SongSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		index = new SongSearchIndex();
+		ReflectionTestUtils.setField(index, "mongoTemplate", mongoTemplate);
+		build(List.of(
+				song("1", "Perfect", "Ed Sheeran", "Deluxe", "Soft Rock"),
+				song("2", "Shape of You", "Ed Sheeran", "÷ (Divide)", "Pop"),
+				song("3", "Déjà Vu", "Beyoncé", "B'Day", "R&B"),
+				song("4", "Edge of Glory", "Lady Gaga", "Born This Way", "Pop")));
+	}
+
+	@Test
+	void matchesPrefixesCaseAndDiacriticInsensitively() {
+		assertThat(index.search("BEYON", PageRequest.of(0, 10)).getContent()).containsExactly("3");
+		assertThat(index.search("deja vu", PageRequest.of(0, 10)).getContent()).containsExactly("3");
+	}
+
+	@Test
+	void requiresEveryTokenAndRanksTitleAboveArtist() {
+		assertThat(index.search("ed sheeran", PageRequest.of(0, 10)).getContent()).containsExactly("1", "2");
+		assertThat(index.search("edg", PageRequest.of(0, 10)).getContent()).containsExactly("4");
+		// equal scores fall back to a stable ID order
+		assertThat(index.search("of", PageRequest.of(0, 10)).getContent()).containsExactly("2", "4");
+		assertThat(index.search("shape", PageRequest.of(0, 10)).getContent()).containsExactly("2");
+	}
+
+	@Test
+	void treatsRegexCharactersAsPlainText() {
+		assertThat(index.search(".*", PageRequest.of(0, 10)).getContent()).isEmpty();
+		assertThat(index.search("(divide", PageRequest.of(0, 10)).getContent()).containsExactly("2");
+	}
+
+	@Test
+	void paginatesAndReindexesOnUpdate() {
+		Page<String> first = index.search("pop", PageRequest.of(0, 1));
+		Page<String> second = index.search("pop", PageRequest.of(1, 1));
+		assertThat(first.getTotalElements()).isEqualTo(2);
+		assertThat(first.getContent()).doesNotContainAnyElementsOf(second.getContent());
+
+		index.index(song("2", "Shape of You", "Ed Sheeran", "÷ (Divide)", "Dance"));
+		assertThat(index.search("pop", PageRequest.of(0, 10)).getContent()).containsExactly("4");
+
+		index.remove("4");
+		assertThat(index.search("pop", PageRequest.of(0, 10)).getContent()).isEmpty();
+	}
+
+	@Test
+	void refusesToSearchUntilBuiltAndRetriesTheBuild() {
+		SongSearchIndex unbuilt = new SongSearchIndex();
+		ReflectionTestUtils.setField(unbuilt, "mongoTemplate", mongoTemplate);
+		when(mongoTemplate.stream(any(Query.class), eq(Song.class)))
+				.thenThrow(new DataAccessResourceFailureException("MongoDB is down"))
+				.thenReturn(Stream.of(song("5", "Halo", "Beyoncé", "I Am", "Pop")));
+
+		unbuilt.rebuild();
+		assertThatThrownBy(() -> unbuilt.search("halo", PageRequest.of(0, 10)))
+				.hasMessageContaining("unavailable");
+
+		unbuilt.retryFailedRebuild();
+		assertThat(unbuilt.search("halo", PageRequest.of(0, 10)).getContent()).containsExactly("5");
+	}
+
+	@Test
+	void broadPrefixesMatchRankingOverEverySong() {
+		Random random = new Random(42);
+		String[] words = {"love", "lost", "low", "light", "night", "nine", "sky", "skyline", "star", "stars", "rock", "road"};
+		List<Song> songs = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			songs.add(song(String.format("%05d", i), phrase(random, words, 3), phrase(random, words, 2),
+					phrase(random, words, 2), words[random.nextInt(words.length)]));
+		}
+		build(songs);
+
+		for (String query : List.of("l", "lo", "sky", "star", "s r", "night l", "ro lo s")) {
+			List<String> expected = bruteForce(songs, query);
+			for (int page = 0; page < 3; page++) {
+				Page<String> result = index.search(query, PageRequest.of(page, 25));
+				int from = Math.min(page * 25, expected.size());
+				assertThat(result.getContent()).as(query + " page " + page)
+						.containsExactlyElementsOf(expected.subList(from, Math.min(from + 25, expected.size())));
+				// Exact when every match was seen, otherwise a lower bound that still shows the next page
+				assertThat(result.getTotalElements()).isLessThanOrEqualTo(expected.size());
+				assertThat(result.hasNext()).isEqualTo(expected.size() > (page + 1) * 25);
+			}
+		}
+		// A query whose matches all fit on the page reports its exact total
+		assertThat(index.search("skyline night", PageRequest.of(0, 3000)).getTotalElements())
+				.isEqualTo(bruteForce(songs, "skyline night").size());
+	}
+
+	private void build(List<Song> songs) {
+		when(mongoTemplate.stream(any(Query.class), eq(Song.class))).thenReturn(songs.stream());
+		index.rebuild();
+		assertThat(index.isReady()).isTrue();
+	}
+
+	private static String phrase(Random random, String[] words, int length) {
+		StringBuilder phrase = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			phrase.append(i > 0 ? " " : "").append(words[random.nextInt(words.length)]);
+		}
+		return phrase.toString();
+	}
+
+	// Scores every song: per token, the best field weight of a term it prefixes (doubled for a
+	// whole word), summed over the tokens; ordered by score, then ID
+	private static List<String> bruteForce(List<Song> songs, String query) {
+		List<String> tokens = TextNormalizer.tokenize(query);
+		Map<String, Integer> scores = new HashMap<>();
+		for (Song song : songs) {
+			int total = 0;
+			for (String token : tokens) {
+				int best = 0;
+				String[] fields = {song.getTitle(), song.getArtist(), song.getAlbum(), song.getGenre()};
+				int[] weights = {8, 4, 2, 1};
+				for (int f = 0; f < fields.length; f++) {
+					for (String term : TextNormalizer.tokenize(fields[f])) {
+						if (term.startsWith(token)) {
+							best = Math.max(best, weights[f] * (term.equals(token) ? 2 : 1));
+						}
+					}
+				}
+				if (best == 0) {
+					total = 0;
+					break;
+				}
+				total += best;
+			}
+			if (total > 0) {
+				scores.put(song.getId(), total);
+			}
+		}
+		return scores.entrySet().stream()
+				.sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+				.map(Map.Entry::getKey)
+				.toList();
+	}
+
+	private static Song song(String id, String title, String artist, String album, String genre) {
+		Song song = new Song(title, artist, album, genre, 200);
+		song.setId(id);
+		return song;
+	}
+}
@@ -0,0 +1,136 @@
+package com.musicapp.songplaylistmanager.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.WriteConcernError;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.RenameCollectionOptions;
+import com.musicapp.songplaylistmanager.export.DataSet;
+import com.musicapp.songplaylistmanager.export.DocumentFileWriter;
+import com.musicapp.songplaylistmanager.export.ExportFormat;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DataExportServiceTests {
+
+	@TempDir
+	Path directory;
+
+	private MongoCollection<RawBsonDocument> users;
+	private MongoCollection<RawBsonDocument> staging;
+	private DataExportService service;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+		MongoCollection<Document> usersDocuments = mock(MongoCollection.class);
+		MongoCollection<Document> stagingDocuments = mock(MongoCollection.class);
+		users = mock(MongoCollection.class);
+		staging = mock(MongoCollection.class);
+		when(mongoTemplate.getCollection("users")).thenReturn(usersDocuments);
+		when(mongoTemplate.getCollection("users_restore")).thenReturn(stagingDocuments);
+		when(usersDocuments.withDocumentClass(RawBsonDocument.class)).thenReturn(users);
+		when(stagingDocuments.withDocumentClass(RawBsonDocument.class)).thenReturn(staging);
+		when(users.getNamespace()).thenReturn(new MongoNamespace("music", "users"));
+		ListIndexesIterable<Document> indexes = mock(ListIndexesIterable.class);
+		when(indexes.iterator()).thenReturn(mock(MongoCursor.class));
+		when(usersDocuments.listIndexes()).thenReturn(indexes);
+
+		UserRoleResolver userRoleResolver = mock(UserRoleResolver.class);
+		service = new DataExportService();
+		ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(service, "userRoleResolver", userRoleResolver);
+		ReflectionTestUtils.setField(service, "statisticsService", mock(StatisticsService.class));
+		ReflectionTestUtils.setField(service, "restoreBatchSize", 2);
+	}
+
+	@Test
+	void replacingRestoreSwapsInTheStagedCollection() throws IOException {
+		Path file = bsonExport(3, 0);
+
+		assertThat(service.restoreCollection(DataSet.USERS, file, true, "admin").getDocuments()).isEqualTo(3);
+
+		verify(staging, times(2)).insertMany(anyList(), any(InsertManyOptions.class));
+		verify(staging).renameCollection(eq(new MongoNamespace("music", "users")), any(RenameCollectionOptions.class));
+		verify(staging, never()).drop();
+		verify(users, never()).deleteMany(any());
+		verify(users, never()).insertMany(anyList(), any(InsertManyOptions.class));
+	}
+
+	@Test
+	void truncatedFileLeavesTheLiveCollectionAlone() throws IOException {
+		Path file = bsonExport(3, 10);
+
+		assertThatThrownBy(() -> service.restoreCollection(DataSet.USERS, file, true, "admin"))
+				.isInstanceOf(UncheckedIOException.class)
+				.hasMessageContaining("Truncated");
+
+		verify(staging, never()).renameCollection(any(MongoNamespace.class), any(RenameCollectionOptions.class));
+		verify(staging).drop();
+		verify(users, never()).deleteMany(any());
+	}
+
+	@Test
+	void writeConcernErrorFailsTheRestoreInsteadOfCountingSkips() throws IOException {
+		Path file = bsonExport(1, 0);
+		doThrow(new MongoBulkWriteException(BulkWriteResult.unacknowledged(), List.of(),
+				new WriteConcernError(64, "WriteConcernFailed", "waiting for replication timed out", new BsonDocument()),
+				new ServerAddress(), Set.of()))
+				.when(users).insertMany(anyList(), any(InsertManyOptions.class));
+
+		assertThatThrownBy(() -> service.restoreCollection(DataSet.USERS, file, false, "admin"))
+				.hasMessage("Restore failed: waiting for replication timed out");
+	}
+
+	// Export of count users, with the last cut bytes removed
+	private Path bsonExport(int count, int cut) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (DocumentFileWriter writer = new DocumentFileWriter(out, ExportFormat.BSON, false)) {
+			for (int i = 0; i < count; i++) {
+				writer.write(new RawBsonDocument(new BsonDocument("_id", new BsonString("u" + i))
+						.append("username", new BsonString("user" + i)), new BsonDocumentCodec()));
+			}
+		}
+		byte[] bytes = out.toByteArray();
+		Path file = directory.resolve("users.bson");
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - cut));
+		return file;
+	}
+}
@@ -0,0 +1,189 @@
+package com.musicapp.songplaylistmanager.service;
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Role;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.TrackSummary;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import com.musicapp.songplaylistmanager.repository.PlaylistRepository;
+import com.musicapp.songplaylistmanager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PlaylistServiceTests {
+
+	private MongoTemplate mongoTemplate;
+	private PlaylistRepository playlistRepository;
+	private UserRepository userRepository;
+	private PlaylistTrackSync playlistTrackSync;
+	private PlaylistService service;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		playlistRepository = mock(PlaylistRepository.class);
+		userRepository = mock(UserRepository.class);
+		playlistTrackSync = mock(PlaylistTrackSync.class);
+
+		service = new PlaylistService();
+		ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(service, "playlistRepository", playlistRepository);
+		ReflectionTestUtils.setField(service, "userRepository", userRepository);
+		ReflectionTestUtils.setField(service, "playlistTrackSync", playlistTrackSync);
+		ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+		service.registerMeters();
+	}
+
+	@Test
+	void ownerUpdateIsOneScopedWrite() {
+		Playlist updated = new Playlist("Road Trip", "summer", "owner");
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Playlist.class)))
+				.thenReturn(updated);
+
+		assertThat(service.updatePlaylist("p1", updated, "owner")).isSameAs(updated);
+
+		verify(mongoTemplate).findAndModify(
+				eq(Query.query(Criteria.where("_id").is("p1").and("userId").is("owner"))),
+				any(Update.class), any(FindAndModifyOptions.class), eq(Playlist.class));
+		verify(mongoTemplate, never()).findOne(any(Query.class), eq(Playlist.class));
+		verifyNoInteractions(playlistRepository);
+	}
+
+	@Test
+	void rejectedWritesExplainOwnerOrMissingPlaylist() {
+		Playlist stored = new Playlist("Road Trip", null, "owner");
+		when(mongoTemplate.findAndRemove(any(Query.class), eq(Playlist.class))).thenReturn(null);
+		when(mongoTemplate.findOne(any(Query.class), eq(Playlist.class))).thenReturn(stored, (Playlist) null);
+
+		assertThatThrownBy(() -> service.deletePlaylist("p1", "intruder"))
+				.hasMessage("You can only delete your own playlists");
+		assertThatThrownBy(() -> service.deletePlaylist("p2", "intruder"))
+				.hasMessage("Playlist not found");
+	}
+
+	@Test
+	void incompleteSummariesAreResolvedOnceAndWrittenBack() {
+		Playlist playlist = new Playlist("Mix", null, "owner");
+		playlist.setId("p1");
+		playlist.setSongIds(List.of("s1", "gone", "s2"));
+		when(playlistTrackSync.findSummaryFields(List.of("s1", "gone", "s2")))
+				.thenReturn(Map.of("s1", song("s1", "Halo", 261), "s2", song("s2", "Numb", 185)));
+
+		List<TrackSummary> tracks = service.getPlaylistTracks(playlist);
+
+		assertThat(tracks).extracting(TrackSummary::getTitle).containsExactly("Halo", null, "Numb");
+		assertThat(playlist.getTotalDuration()).isEqualTo(446);
+		// Guarded on the song list read, so a concurrent add or remove is never overwritten
+		verify(mongoTemplate).updateFirst(
+				eq(Query.query(Criteria.where("_id").is("p1").and("songIds").is(List.of("s1", "gone", "s2")))),
+				eq(new Update().set("tracks", tracks).set("totalDuration", 446)),
+				eq(Playlist.class));
+
+		// Complete summaries are served as they are
+		assertThat(service.getPlaylistTracks(playlist)).isEqualTo(tracks);
+		verify(playlistTrackSync, times(1)).findSummaryFields(any(List.class));
+	}
+
+	@Test
+	void addingToALegacyPlaylistRebuildsItsTotals() {
+		// Written before summaries existed, so after the $push it holds two songs but one summary
+		Playlist stored = new Playlist("Mix", null, "owner");
+		stored.setId("p1");
+		stored.setSongIds(List.of("s1", "s2"));
+		stored.setTracks(List.of(TrackSummary.of(song("s2", "Numb", 185))));
+		Song added = song("s2", "Numb", 185);
+		when(playlistTrackSync.findSummaryFields("s2")).thenReturn(added);
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Playlist.class)))
+				.thenReturn(stored);
+		when(playlistTrackSync.findSummaryFields(List.of("s1", "s2")))
+				.thenReturn(Map.of("s1", song("s1", "Halo", 261), "s2", added));
+
+		Playlist saved = service.addSongToPlaylist("p1", "s2", "owner");
+
+		assertThat(saved.hasTrackSummaries()).isTrue();
+		assertThat(saved.getTotalDuration()).isEqualTo(446);
+		verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(Playlist.class));
+	}
+
+	@Test
+	void addRacingAnEditRefreshesTheSummaryItPushed() {
+		// The song was renamed between the summary read and the $push, so the edit's refresh
+		// may have run before this playlist held the song
+		Playlist pushed = new Playlist("Mix", null, "owner");
+		pushed.setId("p1");
+		pushed.setSongIds(List.of("s1"));
+		pushed.setTracks(List.of(TrackSummary.of(song("s1", "Halo", 261))));
+		Playlist refreshed = new Playlist("Mix", null, "owner");
+		refreshed.setId("p1");
+		refreshed.setSongIds(List.of("s1"));
+		refreshed.setTracks(List.of(TrackSummary.of(song("s1", "Halo (Live)", 270))));
+		when(playlistTrackSync.findSummaryFields("s1"))
+				.thenReturn(song("s1", "Halo", 261), song("s1", "Halo (Live)", 270));
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Playlist.class)))
+				.thenReturn(pushed);
+		when(playlistTrackSync.refreshSongIn("p1", "s1")).thenReturn(refreshed);
+
+		Playlist saved = service.addSongToPlaylist("p1", "s1", "owner");
+
+		assertThat(saved).isSameAs(refreshed);
+		assertThat(saved.getTracks()).extracting(TrackSummary::getTitle).containsExactly("Halo (Live)");
+	}
+
+	@Test
+	void addWithAnUnchangedSongSkipsTheRefresh() {
+		Playlist pushed = new Playlist("Mix", null, "owner");
+		pushed.setId("p1");
+		pushed.setSongIds(List.of("s1"));
+		pushed.setTracks(List.of(TrackSummary.of(song("s1", "Halo", 261))));
+		when(playlistTrackSync.findSummaryFields("s1")).thenReturn(song("s1", "Halo", 261));
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Playlist.class)))
+				.thenReturn(pushed);
+
+		assertThat(service.addSongToPlaylist("p1", "s1", "owner")).isSameAs(pushed);
+		verify(playlistTrackSync, never()).refreshSongIn(any(), any());
+	}
+
+	@Test
+	void createdPlaylistsGetSummariesFromTheSongs() {
+		Playlist requested = new Playlist("Mix", null, "owner");
+		requested.setSongIds(List.of("s1"));
+		requested.setTracks(List.of(new TrackSummary("s1", "Invented", "Nobody", 999)));
+		when(userRepository.findById("owner")).thenReturn(Optional.of(new User("owner", "owner@example.com", Role.USER)));
+		when(playlistTrackSync.findSummaryFields(List.of("s1")))
+				.thenReturn(Map.of("s1", song("s1", "Halo", 261)));
+		when(playlistRepository.save(requested)).thenReturn(requested);
+
+		Playlist created = service.createPlaylist(requested);
+
+		assertThat(created.getTracks()).extracting(TrackSummary::getTitle).containsExactly("Halo");
+		assertThat(created.getTotalDuration()).isEqualTo(261);
+	}
+
+	private static Song song(String id, String title, int duration) {
+		Song song = new Song(title, "Artist", "Album", "Pop", duration);
+		song.setId(id);
+		return song;
+	}
+}
@@ -0,0 +1,70 @@
+package com.musicapp.songplaylistmanager.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlaylistTrackSyncTests {
+
+	private MongoTemplate mongoTemplate;
+	private PlaylistTrackSync trackSync;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.getCollectionName(Playlist.class)).thenReturn("playlists");
+
+		trackSync = new PlaylistTrackSync();
+		ReflectionTestUtils.setField(trackSync, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(trackSync, "batchSize", 2);
+	}
+
+	@Test
+	void writesTheSongAsStoredNow() {
+		Song current = new Song("Halo (Live)", "Beyoncé", "I Am... Sasha Fierce", "Pop", 270);
+		current.setId("s1");
+		when(mongoTemplate.findOne(any(Query.class), eq(Song.class))).thenReturn(current);
+		when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("playlists")))
+				.thenReturn(List.of(new Document("_id", "p1"), new Document("_id", "p2")))
+				.thenReturn(List.of(new Document("_id", "p3")));
+		when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Playlist.class)))
+				.thenReturn(UpdateResult.acknowledged(2, 2L, null))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+		assertThat(trackSync.refreshSong("s1")).isEqualTo(3);
+
+		ArgumentCaptor<AggregationUpdate> update = ArgumentCaptor.forClass(AggregationUpdate.class);
+		verify(mongoTemplate, times(2)).updateMulti(any(Query.class), update.capture(), eq(Playlist.class));
+		String pipeline = update.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).toString();
+		assertThat(pipeline).contains("Halo (Live)").contains("270");
+	}
+
+	@Test
+	void skipsSongsDeletedBeforeTheRefreshRan() {
+		when(mongoTemplate.findOne(any(Query.class), eq(Song.class))).thenReturn(null);
+
+		assertThat(trackSync.refreshSong("gone")).isZero();
+		verify(mongoTemplate, never()).updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Playlist.class));
+	}
+}
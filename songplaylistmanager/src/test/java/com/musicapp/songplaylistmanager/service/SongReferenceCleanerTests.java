@@ -0,0 +1,120 @@
+package com.musicapp.songplaylistmanager.service;
+
+import com.musicapp.songplaylistmanager.model.Song.Playlist;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SongReferenceCleanerTests {
+
+	private MongoTemplate mongoTemplate;
+	private SimpleMeterRegistry meterRegistry;
+	private SongReferenceCleaner cleaner;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.getCollectionName(Playlist.class)).thenReturn("playlists");
+		when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+
+		cleaner = new SongReferenceCleaner();
+		ReflectionTestUtils.setField(cleaner, "mongoTemplate", mongoTemplate);
+		meterRegistry = new SimpleMeterRegistry();
+		ReflectionTestUtils.setField(cleaner, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(cleaner, "batchSize", 2);
+		ReflectionTestUtils.setField(cleaner, "retryIntervalMs", 300_000L);
+		cleaner.registerMeters();
+	}
+
+	@Test
+	void pullsTheSongInBoundedBatches() {
+		when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("playlists")))
+				.thenReturn(List.of(new Document("_id", "p1"), new Document("_id", "p2")))
+				.thenReturn(List.of(new Document("_id", "p3")));
+		when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+				.thenReturn(List.of(new Document("_id", "u1")));
+		when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Playlist.class)))
+				.thenReturn(UpdateResult.acknowledged(2, 2L, null))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+		when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(User.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+		assertThat(cleaner.removeReferences("s1")).isEqualTo(4);
+		assertThat(meterRegistry.get("app.songs.references.removed").tag("field", "songIds").counter().count()).isEqualTo(3);
+		// A short batch means nothing is left, so no third playlist round and one user round;
+		// playlists also lose the track summary, hence the pipeline update
+		verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(AggregationUpdate.class), eq(Playlist.class));
+		verify(mongoTemplate, times(1)).updateMulti(any(Query.class), eq(new Update().pull("likedSongs", "s1")), eq(User.class));
+		// Done, so the pending marker goes
+		verify(mongoTemplate).remove(Query.query(Criteria.where("_id").is("s1")), SongReferenceCleaner.PENDING_CLEANUPS_COLLECTION);
+	}
+
+	@Test
+	void cleansUpInlineFromTheReadsThatDecide() {
+		when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("playlists")))
+				.thenReturn(List.of(new Document("_id", "p1"), new Document("_id", "p2"), new Document("_id", "p3")));
+		when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+				.thenReturn(List.of(new Document("_id", "u1")));
+		when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), any(Class.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+		assertThat(cleaner.removeReferencesIfFewerThan("s1", 5)).isTrue();
+
+		// One read per field; the three playlists are pulled in batch-size chunks
+		verify(mongoTemplate, times(1)).find(any(Query.class), eq(Document.class), eq("playlists"));
+		verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(AggregationUpdate.class), eq(Playlist.class));
+		verify(mongoTemplate, times(1)).updateMulti(any(Query.class), any(Update.class), eq(User.class));
+		verify(mongoTemplate).remove(any(Query.class), eq(SongReferenceCleaner.PENDING_CLEANUPS_COLLECTION));
+	}
+
+	@Test
+	void widelyReferencedSongsAreLeftForTheBackground() {
+		when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("playlists")))
+				.thenReturn(List.of(new Document("_id", "p1"), new Document("_id", "p2")));
+
+		assertThat(cleaner.removeReferencesIfFewerThan("s1", 2)).isFalse();
+
+		verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), eq("users"));
+		verify(mongoTemplate, never()).updateMulti(any(Query.class), any(UpdateDefinition.class), any(Class.class));
+		verify(mongoTemplate, never()).remove(any(Query.class), any(String.class));
+	}
+
+	@Test
+	void retriesLeftoverCleanupsAndDropsMarkersOfSongsThatStillExist() {
+		when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(SongReferenceCleaner.PENDING_CLEANUPS_COLLECTION)))
+				.thenReturn(List.of(new Document("_id", "gone"), new Document("_id", "kept")));
+		when(mongoTemplate.exists(Query.query(Criteria.where("_id").is("kept")), Song.class)).thenReturn(true);
+		when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("playlists")))
+				.thenReturn(List.of(new Document("_id", "p1")));
+		when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Playlist.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+		cleaner.retryPendingCleanups();
+
+		verify(mongoTemplate, times(1)).updateMulti(any(Query.class), any(AggregationUpdate.class), eq(Playlist.class));
+		verify(mongoTemplate).remove(Query.query(Criteria.where("_id").is("gone")), SongReferenceCleaner.PENDING_CLEANUPS_COLLECTION);
+		verify(mongoTemplate).remove(Query.query(Criteria.where("_id").is("kept")), SongReferenceCleaner.PENDING_CLEANUPS_COLLECTION);
+	}
+}
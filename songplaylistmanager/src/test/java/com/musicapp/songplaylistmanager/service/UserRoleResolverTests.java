@@ -0,0 +1,60 @@
+package com.musicapp.songplaylistmanager.service;
+
+import com.musicapp.songplaylistmanager.config.CacheConfig;
+import com.musicapp.songplaylistmanager.model.Song.Role;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserRoleResolverTests {
+
+	private MongoTemplate mongoTemplate;
+	private ConcurrentMapCacheManager cacheManager;
+	private UserRoleResolver resolver;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		cacheManager = new ConcurrentMapCacheManager(CacheConfig.USER_ROLES_CACHE);
+
+		resolver = new UserRoleResolver();
+		ReflectionTestUtils.setField(resolver, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(resolver, "cacheManager", cacheManager);
+	}
+
+	@Test
+	void readsEachRoleOnceUntilEvicted() {
+		when(mongoTemplate.findOne(any(Query.class), eq(User.class)))
+				.thenReturn(new User("admin", "admin@example.com", Role.ADMIN))
+				.thenReturn(new User("admin", "admin@example.com", Role.USER));
+
+		resolver.requireAdmin("u1", "create songs");
+		resolver.requireAdmin("u1", "delete songs");
+		verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(User.class));
+
+		// What UserService.updateUser's @CacheEvict does after a role change
+		cacheManager.getCache(CacheConfig.USER_ROLES_CACHE).evict("u1");
+		assertThatThrownBy(() -> resolver.requireAdmin("u1", "create songs"))
+				.hasMessage("Only admins can create songs");
+	}
+
+	@Test
+	void unknownUsersAreRejectedAndNotCached() {
+		assertThat(resolver.isAdmin("ghost")).isFalse();
+		assertThat(resolver.isAdmin(null)).isFalse();
+		assertThat(cacheManager.getCache(CacheConfig.USER_ROLES_CACHE).get("ghost")).isNull();
+	}
+}
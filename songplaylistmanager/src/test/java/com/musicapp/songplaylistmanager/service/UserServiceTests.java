@@ -0,0 +1,73 @@
+package com.musicapp.songplaylistmanager.service;
+
+import com.musicapp.songplaylistmanager.model.Song.Role;
+import com.musicapp.songplaylistmanager.model.Song.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTests {
+
+	private MongoTemplate mongoTemplate;
+	private IndexOperations indexOperations;
+	private UserService service;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		indexOperations = mock(IndexOperations.class);
+		when(mongoTemplate.indexOps(User.class)).thenReturn(indexOperations);
+		when(indexOperations.getIndexInfo()).thenReturn(List.of(
+				uniqueIndex(User.USERNAME_INDEX, "username"), uniqueIndex(User.EMAIL_INDEX, "email")));
+		service = new UserService();
+		ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+	}
+
+	@Test
+	void duplicateKeyOnInsertNamesTheClashingField() {
+		when(mongoTemplate.insert(any(User.class)))
+				.thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: song_playlist_db.users "
+						+ "index: email dup key: { email: \"a@example.com\" }"));
+
+		assertThatThrownBy(() -> service.createUser(new User("alice", "a@example.com", Role.USER)))
+				.hasMessage("Email already exists");
+	}
+
+	@Test
+	void refusesToRegisterWithoutTheUniqueIndexes() {
+		when(indexOperations.getIndexInfo()).thenReturn(List.of(uniqueIndex(User.USERNAME_INDEX, "username")));
+
+		assertThatThrownBy(() -> service.createUser(new User("alice", "a@example.com", Role.USER)))
+				.hasMessageContaining("unique username/email indexes are missing");
+		verify(mongoTemplate, never()).insert(any(User.class));
+	}
+
+	@Test
+	void mapsIndexNamesToMessages() {
+		assertThat(UserService.duplicateKeyMessage("E11000 ... index: username dup key: { username: \"bob\" }"))
+				.isEqualTo("Username already exists");
+		assertThat(UserService.duplicateKeyMessage("E11000 ... index: _id_ dup key: { _id: \"1\" }"))
+				.isEqualTo("User already exists");
+		assertThat(UserService.duplicateKeyMessage(null)).isEqualTo("User already exists");
+	}
+
+	private static IndexInfo uniqueIndex(String name, String field) {
+		return new IndexInfo(List.of(IndexField.create(field, Sort.Direction.ASC)), name, true, false, "");
+	}
+}
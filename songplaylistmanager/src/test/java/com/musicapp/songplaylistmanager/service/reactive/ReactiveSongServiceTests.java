@@ -0,0 +1,68 @@
+package com.musicapp.songplaylistmanager.service.reactive;
+
+import com.musicapp.songplaylistmanager.config.CacheConfig;
+import com.musicapp.songplaylistmanager.model.Song.Song;
+import com.musicapp.songplaylistmanager.repository.reactive.ReactiveSongRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveSongServiceTests {
+
+	private ReactiveSongRepository repository;
+	private ReactiveSongService service;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(ReactiveSongRepository.class);
+		// Return matches in reverse so the service has to restore the requested order
+		when(repository.findByIdIn(anyCollection())).thenAnswer(invocation -> {
+			Collection<String> ids = invocation.getArgument(0);
+			List<Song> songs = ids.stream().filter(id -> !id.startsWith("missing")).map(ReactiveSongServiceTests::song).toList();
+			return Flux.fromIterable(songs.reversed());
+		});
+
+		service = new ReactiveSongService();
+		ReflectionTestUtils.setField(service, "songRepository", repository);
+		ReflectionTestUtils.setField(service, "cacheManager", new ConcurrentMapCacheManager(CacheConfig.SONGS_CACHE));
+	}
+
+	@Test
+	void streamsSongsInRequestedOrderChunkByChunk() {
+		List<String> ids = IntStream.range(0, 250).mapToObj(i -> "song-" + i).toList();
+
+		List<Song> songs = service.getSongsByIds(ids).collectList().block();
+
+		assertThat(songs).extracting(Song::getId).containsExactlyElementsOf(ids);
+		verify(repository, times(3)).findByIdIn(anyCollection());
+	}
+
+	@Test
+	void skipsUnknownIdsAndReusesCachedSongs() {
+		service.getSongsByIds(List.of("a", "b")).blockLast();
+
+		List<Song> songs = service.getSongsByIds(List.of("b", "missing-1", "a", "b")).collectList().block();
+
+		assertThat(songs).extracting(Song::getId).containsExactly("b", "a");
+		verify(repository, times(2)).findByIdIn(anyCollection());
+	}
+
+	private static Song song(String id) {
+		Song song = new Song("Title " + id, "Artist", "Album", "Pop", 200);
+		song.setId(id);
+		return song;
+	}
+}